@@ -0,0 +1,95 @@
+package com.example.todolist.dto;
+
+import com.example.todolist.config.CodecConfig;
+import com.example.todolist.entity.TaskStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDtoCodecBenchmark {
+    private static final TypeReference<List<TaskDto>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    String format;
+
+    @Param({"10000", "100000"})
+    int listSize;
+
+    ObjectMapper objectMapper;
+    TaskDto task;
+    List<TaskDto> tasks;
+    byte[] taskBytes;
+    byte[] tasksBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = format.equals("smile")
+                ? CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json())
+                : Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        var dateTime = LocalDateTime.of(2024, 1, 2, 2, 2, 2, 123_456_000);
+        task = new TaskDto("65a0f1c2e4b0a1b2c3d4e5f6", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+        tasks = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            tasks.add(new TaskDto(String.format("65a0f1c2e4b0a1b2c3%06d", i), "Test Task " + i, "Description " + i,
+                    dateTime.plusSeconds(i), TaskStatus.values()[i % TaskStatus.values().length], (long) i, null));
+        }
+        taskBytes = objectMapper.writeValueAsBytes(task);
+        tasksBytes = objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] encodeTask(PayloadSize payloadSize) throws IOException {
+        var bytes = objectMapper.writeValueAsBytes(task);
+        payloadSize.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public TaskDto decodeTask() throws IOException {
+        return objectMapper.readValue(taskBytes, TaskDto.class);
+    }
+
+    @Benchmark
+    public byte[] encodeTaskList(PayloadSize payloadSize) throws IOException {
+        var bytes = objectMapper.writeValueAsBytes(tasks);
+        payloadSize.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<TaskDto> decodeTaskList() throws IOException {
+        return objectMapper.readValue(tasksBytes, TASK_LIST);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long encodedBytes;
+    }
+}
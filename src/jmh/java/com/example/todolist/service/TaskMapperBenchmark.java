@@ -0,0 +1,40 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    TaskMapper taskMapper = new TaskMapper();
+    Task task = new Task("65a0f1c2e4b0a1b2c3d4e5f6", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+    TaskDto taskDto = new TaskDto("65a0f1c2e4b0a1b2c3d4e5f6", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+
+    @Benchmark
+    public TaskDto taskToTaskDto() {
+        return taskMapper.taskToTaskDto(task);
+    }
+
+    @Benchmark
+    public Task taskDtoToTask() {
+        return taskMapper.taskDtoToTask(taskDto);
+    }
+}
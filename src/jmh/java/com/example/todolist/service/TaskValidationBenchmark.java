@@ -0,0 +1,56 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskValidationBenchmark {
+    TaskService taskService = new TaskService(null, new TaskMapper(), null, null, null, null, null,
+            new TaskMetrics(new SimpleMeterRegistry()), new TaskValidator(), null, null, null);
+    TaskDto validTask = new TaskDto(null, "Test Task", "Description", LocalDateTime.of(2024, 1, 2, 2, 2), TaskStatus.CREATED, null, null);
+    TaskDto invalidTask = new TaskDto(null, "", "Description", LocalDateTime.of(2024, 1, 2, 2, 2), TaskStatus.CREATED, null, null);
+    TaskDto invalidTaskWithAllErrors = new TaskDto(null, "", "Description".repeat(50), null, null, null, null);
+
+    @Benchmark
+    public void validTask(Blackhole blackhole) {
+        taskService.validateTaskDto(validTask).subscribe(blackhole::consume, blackhole::consume);
+    }
+
+    @Benchmark
+    public void rejectedTask(Blackhole blackhole) {
+        taskService.validateTaskDto(invalidTask).subscribe(blackhole::consume, blackhole::consume);
+    }
+
+    @Benchmark
+    public void rejectedTaskWithAllErrors(Blackhole blackhole) {
+        taskService.validateTaskDto(invalidTaskWithAllErrors).subscribe(blackhole::consume, blackhole::consume);
+    }
+
+    @Benchmark
+    public void rejectedTaskWithStackTrace(Blackhole blackhole) {
+        Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title cannot be empty"))
+                .subscribe(blackhole::consume, blackhole::consume);
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.todolist;
 
+import com.example.todolist.config.TaskRuntimeHints;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 @OpenAPIDefinition
+@ImportRuntimeHints(TaskRuntimeHints.class)
 public class ToDoListApplication {
 
 	public static void main(String[] args) {
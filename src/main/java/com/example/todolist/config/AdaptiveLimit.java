@@ -0,0 +1,95 @@
+package com.example.todolist.config;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AdaptiveLimit {
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 500;
+    private static final double MIN_GRADIENT = 0.5;
+
+    int minLimit;
+    int maxLimit;
+    double smoothing;
+    double tolerance;
+    AtomicInteger inFlight = new AtomicInteger();
+
+    @NonFinal
+    volatile double estimatedLimit;
+
+    @NonFinal
+    volatile double shortRtt;
+
+    @NonFinal
+    volatile double longRtt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getQueue() {
+        var shortRtt = this.shortRtt;
+        if (shortRtt == 0) {
+            return 0;
+        }
+        return inFlight.get() * Math.max(0, 1 - longRtt / shortRtt);
+    }
+
+    public boolean tryAcquire(int reserve) {
+        var limit = getLimit() - reserve;
+        while (true) {
+            var current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        update(rttNanos, inFlight.getAndDecrement());
+    }
+
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlight) {
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        } else {
+            shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+            longRtt += (rtt - longRtt) / LONG_WINDOW;
+        }
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+        var gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.todolist.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConcurrencyLimitFilter implements WebFilter {
+    private static final String TASKS_PATH = "/tasks";
+    private static final String LISTS_PATH = "/lists/";
+    private static final String ALL_ROUTES = "all";
+    private static final String OTHER_ROUTES = "other";
+
+    TaskProperties.Limit properties;
+    MeterRegistry meterRegistry;
+    String retryAfter;
+    RouteLimit globalLimit;
+    Map<String, RouteLimit> routeLimits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        this.properties = taskProperties.getLimit();
+        this.meterRegistry = meterRegistry;
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        this.globalLimit = routeLimit(ALL_ROUTES, properties.getGlobalInitialLimit(), properties.getGlobalMaxLimit());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!properties.isEnabled() || !(path.startsWith(TASKS_PATH) || path.startsWith(LISTS_PATH))) {
+            return chain.filter(exchange);
+        }
+        var pattern = MetricsConfig.uriTag(path);
+        if (properties.getExcludedPaths().contains(pattern)) {
+            return chain.filter(exchange);
+        }
+        var route = exchange.getRequest().getMethod().name() + " " + pattern;
+        var routeLimit = routeLimits.get(route);
+        if (routeLimit == null) {
+            routeLimit = routeLimits.size() < properties.getMaxRoutes()
+                    ? routeLimits.computeIfAbsent(route, this::routeLimit)
+                    : routeLimits.computeIfAbsent(OTHER_ROUTES, this::routeLimit);
+        }
+        var reserve = properties.getReservedRoutes().contains(route) ? 0 : properties.getReadReserve();
+        if (!globalLimit.getLimit().tryAcquire(reserve)) {
+            routeLimit.getRejectedByGlobal().increment();
+            return reject(exchange);
+        }
+        if (!routeLimit.getLimit().tryAcquire(0)) {
+            globalLimit.getLimit().releaseWithoutSample();
+            routeLimit.getRejectedByRoute().increment();
+            return reject(exchange);
+        }
+        var limit = routeLimit.getLimit();
+        var started = System.nanoTime();
+        var firstByte = new AtomicLong();
+        exchange.getResponse().beforeCommit(() -> {
+            firstByte.compareAndSet(0, System.nanoTime());
+            return Mono.empty();
+        });
+        return Mono.defer(() -> chain.filter(exchange))
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limit.releaseWithoutSample();
+                        globalLimit.getLimit().releaseWithoutSample();
+                    } else {
+                        var committed = firstByte.get();
+                        var rtt = (committed == 0 ? System.nanoTime() : committed) - started;
+                        limit.release(rtt);
+                        globalLimit.getLimit().release(rtt);
+                    }
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return response.setComplete();
+    }
+
+    private RouteLimit routeLimit(String route) {
+        return routeLimit(route, properties.getInitialLimit(), properties.getMaxLimit());
+    }
+
+    private RouteLimit routeLimit(String route, int initialLimit, int maxLimit) {
+        var limit = new AdaptiveLimit(initialLimit, properties.getMinLimit(), maxLimit, properties.getSmoothing(), properties.getTolerance());
+        Gauge.builder("tasks.limit.current", limit, AdaptiveLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("tasks.limit.inflight", limit, AdaptiveLimit::getInFlight)
+                .description("Requests currently in flight")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("tasks.limit.queue", limit, AdaptiveLimit::getQueue)
+                .description("Estimated number of in flight requests waiting on a slow backend")
+                .tag("route", route)
+                .register(meterRegistry);
+        return new RouteLimit(limit, rejected(route, "global"), rejected(route, "route"));
+    }
+
+    private Counter rejected(String route, String limit) {
+        return Counter.builder("tasks.limit.rejected")
+                .description("Requests rejected with 503 because a concurrency limit was reached")
+                .tag("route", route)
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    @Value
+    private static class RouteLimit {
+        AdaptiveLimit limit;
+        Counter rejectedByGlobal;
+        Counter rejectedByRoute;
+    }
+}
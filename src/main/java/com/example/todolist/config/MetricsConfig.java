@@ -0,0 +1,35 @@
+package com.example.todolist.config;
+
+import com.example.todolist.service.TaskMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.util.regex.Pattern;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/[0-9a-fA-F]{24}(?=/|$)");
+    private static final Pattern LIST_SEGMENT = Pattern.compile("^/lists/[^/]+");
+
+    @Bean
+    NettyServerCustomizer nettyMetricsCustomizer() {
+        return httpServer -> httpServer.metrics(true, MetricsConfig::uriTag);
+    }
+
+    @Bean
+    @Order(1)
+    CodecCustomizer timedJacksonCodecCustomizer(ObjectMapper objectMapper, TaskMetrics taskMetrics) {
+        return configurer -> configurer.defaultCodecs()
+                .jackson2JsonEncoder(new TimedJackson2JsonEncoder(objectMapper, taskMetrics.getEncoding()));
+    }
+
+    static String uriTag(String uri) {
+        var query = uri.indexOf('?');
+        var path = LIST_SEGMENT.matcher(query < 0 ? uri : uri.substring(0, query)).replaceFirst("/lists/{listId}");
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todolist.config;
+
+import com.example.todolist.ToDoListApplication;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class OpenApiSpecGenerator {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        var output = Path.of(args[0]);
+        var directory = Files.createTempDirectory("todolist-openapi");
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (var context = new SpringApplicationBuilder(ToDoListApplication.class)
+                .profiles("embedded")
+                .run("--server.port=0", "--tasks.embedded.directory=" + directory, "--tasks.archive.enabled=false",
+                        "--spring.devtools.livereload.enabled=false")) {
+            var environment = context.getEnvironment();
+            var storeDirectory = Path.of(environment.getRequiredProperty("tasks.embedded.directory")).toAbsolutePath();
+            if (!storeDirectory.startsWith(directory.toAbsolutePath()) || environment.getProperty("tasks.archive.enabled", Boolean.class, true)) {
+                throw new IllegalStateException("Spec generation must write only to " + directory + " with the archiver disabled");
+            }
+            var spec = WebClient.create("http://localhost:" + environment.getRequiredProperty("local.server.port"))
+                    .get().uri(environment.getRequiredProperty("springdoc.api-docs.path"))
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.writeString(output, normalize(spec));
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    static String normalize(String spec) throws JsonProcessingException {
+        var document = (ObjectNode) OBJECT_MAPPER.readTree(spec);
+        document.remove("servers");
+        return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(document);
+    }
+}
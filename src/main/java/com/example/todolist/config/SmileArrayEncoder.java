@@ -0,0 +1,95 @@
+package com.example.todolist.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class SmileArrayEncoder extends Jackson2SmileEncoder {
+
+    public SmileArrayEncoder(ObjectMapper objectMapper, MimeType... mimeTypes) {
+        super(objectMapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono || isStreaming(mimeType)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        var objectMapper = getObjectMapper();
+        var writer = objectMapper.writer();
+        return Flux.using(() -> new ArrayWriter(objectMapper, writer, bufferFactory),
+                arrayWriter -> Flux.concat(
+                        Mono.fromCallable(arrayWriter::start),
+                        Flux.from(inputStream).map(arrayWriter::write),
+                        Mono.fromCallable(arrayWriter::finish)),
+                ArrayWriter::close);
+    }
+
+    private boolean isStreaming(MimeType mimeType) {
+        return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith);
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class ArrayWriter {
+        ByteArrayBuilder output = new ByteArrayBuilder();
+        ObjectWriter writer;
+        DataBufferFactory bufferFactory;
+        JsonGenerator generator;
+
+        ArrayWriter(ObjectMapper objectMapper, ObjectWriter writer, DataBufferFactory bufferFactory) throws IOException {
+            this.writer = writer;
+            this.bufferFactory = bufferFactory;
+            this.generator = objectMapper.getFactory().createGenerator(output);
+        }
+
+        DataBuffer start() throws IOException {
+            generator.writeStartArray();
+            return drain();
+        }
+
+        DataBuffer write(Object value) {
+            try {
+                writer.writeValue(generator, value);
+                return drain();
+            } catch (IOException ex) {
+                throw new EncodingException("Smile encoding error: " + ex.getMessage(), ex);
+            }
+        }
+
+        DataBuffer finish() throws IOException {
+            generator.writeEndArray();
+            return drain();
+        }
+
+        void close() {
+            try {
+                generator.close();
+            } catch (IOException ignored) {
+            }
+            output.release();
+        }
+
+        private DataBuffer drain() throws IOException {
+            generator.flush();
+            var bytes = output.toByteArray();
+            output.reset();
+            return bufferFactory.wrap(bytes);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todolist.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("production")
+public class StaticApiDocsConfig {
+    static final String SPEC_LOCATION = "openapi/api-docs.json";
+
+    @Bean
+    RouterFunction<ServerResponse> staticApiDocsRoute(@Value("${springdoc.api-docs.path:/v1/api-docs}") String path) {
+        return staticApiDocs(path, new ClassPathResource(SPEC_LOCATION));
+    }
+
+    static RouterFunction<ServerResponse> staticApiDocs(String path, ClassPathResource spec) {
+        return RouterFunctions.route(RequestPredicates.GET(path), request -> spec.exists()
+                ? ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(spec)
+                : ServerResponse.notFound().build());
+    }
+}
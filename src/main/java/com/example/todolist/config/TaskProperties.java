@@ -0,0 +1,143 @@
+package com.example.todolist.config;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "tasks")
+public class TaskProperties {
+
+    Stream stream = new Stream();
+    Bulk bulk = new Bulk();
+    CreateBatch createBatch = new CreateBatch();
+    Cache cache = new Cache();
+    Events events = new Events();
+    Stats stats = new Stats();
+    Embedded embedded = new Embedded();
+    Limit limit = new Limit();
+    Archive archive = new Archive();
+    Lists lists = new Lists();
+    Transfer transfer = new Transfer();
+    CollectionVersion collectionVersion = new CollectionVersion();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Stream {
+        int cursorBatchSize = 256;
+        int prefetch = 256;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Bulk {
+        int batchSize = 1000;
+        boolean ordered = false;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CreateBatch {
+        boolean enabled = false;
+        int maxSize = 100;
+        Duration maxDelay = Duration.ofMillis(2);
+        int concurrency = 4;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+        boolean enabled = true;
+        long maximumSize = 10_000;
+        Duration timeToLive = Duration.ofMinutes(1);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Events {
+        int bufferSize = 256;
+        Overflow overflow = Overflow.DROP_OLDEST;
+
+        public enum Overflow {
+            DROP_OLDEST, DISCONNECT
+        }
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Stats {
+        int days = 30;
+        Duration reconcileInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Embedded {
+        Path directory = Path.of("data");
+        DataSize segmentSize = DataSize.ofMegabytes(64);
+        Duration compactionInterval = Duration.ofMinutes(1);
+        int compactionMinRecords = 10_000;
+        boolean fsync = false;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limit {
+        boolean enabled = true;
+        int initialLimit = 50;
+        int minLimit = 10;
+        int maxLimit = 500;
+        int globalInitialLimit = 100;
+        int globalMaxLimit = 2000;
+        double smoothing = 0.2;
+        double tolerance = 1.5;
+        int readReserve = 5;
+        List<String> reservedRoutes = List.of("GET /tasks/{id}", "GET /lists/{listId}/tasks/{id}");
+        List<String> excludedPaths = List.of("/tasks/events", "/lists/{listId}/tasks/events", "/tasks/export", "/tasks/import");
+        int maxRoutes = 64;
+        Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Archive {
+        boolean enabled = true;
+        Duration age = Duration.ofDays(30);
+        Duration interval = Duration.ofMinutes(1);
+        int batchSize = 500;
+        int maxTasksPerSecond = 1000;
+        int maxBatchesPerRun = 100;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Lists {
+        long maxTasks = 10_000;
+        long maximumCachedCounts = 100_000;
+        Duration countTimeToLive = Duration.ofMinutes(1);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Transfer {
+        DataSize exportChunkSize = DataSize.ofKilobytes(64);
+        int importBatchSize = 1000;
+        int importPrefetch = 4;
+        DataSize importMaxRecordSize = DataSize.ofKilobytes(16);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class CollectionVersion {
+        int stripes = 4096;
+        boolean watchChanges = false;
+        Duration watchRetry = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todolist.config;
+
+import com.example.todolist.dto.ProjectedTaskDto;
+import com.example.todolist.dto.TaskBulkResultDto;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskEventType;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskImportProgressDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.dto.TaskValidationErrorDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+public class TaskRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Class<?>[] BOUND_TYPES = {Task.class, TaskStatus.class, TaskDto.class, TaskPatchDto.class, TaskPageDto.class,
+            TaskEventDto.class, TaskEventType.class, TaskBulkResultDto.class, TaskStatsDto.class, TaskSuggestionDto.class,
+            TaskValidationErrorDto.class, TaskFieldErrorDto.class, TaskImportProgressDto.class,
+            ProjectedTaskDto.class};
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BOUND_TYPES);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.todolist.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TimedJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    Timer timer;
+
+    public TimedJackson2JsonEncoder(ObjectMapper objectMapper, Timer timer) {
+        super(objectMapper);
+        this.timer = timer;
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        return Flux.defer(() -> {
+            var started = new long[1];
+            var input = Flux.from(inputStream).doOnNext(value -> started[0] = System.nanoTime());
+            return super.encode(input, bufferFactory, elementType, mimeType, hints)
+                    .doOnNext(buffer -> {
+                        if (started[0] != 0) {
+                            timer.record(System.nanoTime() - started[0], TimeUnit.NANOSECONDS);
+                            started[0] = 0;
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return timer.record(() -> super.encodeValue(value, bufferFactory, valueType, mimeType, hints));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todolist.dto;
+
+import com.example.todolist.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectedTaskDto extends TaskDto {
+
+    public ProjectedTaskDto(String id, String title, String description, LocalDateTime creationDate, TaskStatus taskStatus, Long version,
+                            String listId) {
+        super(id, title, description, creationDate, taskStatus, version, listId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.todolist.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskBulkResultDto {
+
+    long index;
+    String id;
+    String error;
+
+    public static TaskBulkResultDto created(long index, String id) {
+        return new TaskBulkResultDto(index, id, null);
+    }
+
+    public static TaskBulkResultDto failed(long index, String error) {
+        return new TaskBulkResultDto(index, null, error);
+    }
+}
@@ -20,5 +20,9 @@ public class TaskDto {
     String description;
     LocalDateTime creationDate;
     TaskStatus taskStatus;
+    @Setter(value=AccessLevel.NONE)
+    Long version;
+    @Setter(value=AccessLevel.NONE)
+    String listId;
 
 }
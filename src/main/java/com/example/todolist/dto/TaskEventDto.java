@@ -0,0 +1,32 @@
+package com.example.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskEventDto {
+
+    TaskEventType type;
+    String id;
+    TaskDto task;
+
+    @JsonIgnore
+    String listId;
+
+    public static TaskEventDto created(TaskDto task) {
+        return new TaskEventDto(TaskEventType.CREATED, task.getId(), task, task.getListId());
+    }
+
+    public static TaskEventDto updated(TaskDto task) {
+        return new TaskEventDto(TaskEventType.UPDATED, task.getId(), task, task.getListId());
+    }
+
+    public static TaskEventDto deleted(String id, String listId) {
+        return new TaskEventDto(TaskEventType.DELETED, id, null, listId);
+    }
+}
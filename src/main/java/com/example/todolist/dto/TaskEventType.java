@@ -0,0 +1,5 @@
+package com.example.todolist.dto;
+
+public enum TaskEventType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,16 @@
+package com.example.todolist.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskFieldErrorDto {
+
+    String field;
+    String message;
+
+}
@@ -0,0 +1,19 @@
+package com.example.todolist.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskImportProgressDto {
+
+    long processed;
+    long imported;
+    long failed;
+    List<TaskBulkResultDto> errors;
+}
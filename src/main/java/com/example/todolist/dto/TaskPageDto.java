@@ -0,0 +1,18 @@
+package com.example.todolist.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskPageDto {
+
+    List<TaskDto> tasks;
+    String next;
+
+}
@@ -0,0 +1,21 @@
+package com.example.todolist.dto;
+
+import com.example.todolist.entity.TaskStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskPatchDto {
+
+    String title;
+    String description;
+    LocalDateTime creationDate;
+    TaskStatus taskStatus;
+
+}
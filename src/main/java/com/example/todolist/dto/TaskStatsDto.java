@@ -0,0 +1,20 @@
+package com.example.todolist.dto;
+
+import com.example.todolist.entity.TaskStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskStatsDto {
+
+    Map<TaskStatus, Long> byStatus;
+    Map<LocalDate, Long> createdPerDay;
+
+}
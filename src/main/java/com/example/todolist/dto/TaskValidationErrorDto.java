@@ -0,0 +1,20 @@
+package com.example.todolist.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class TaskValidationErrorDto {
+
+    int status;
+    String error;
+    String message;
+    List<TaskFieldErrorDto> errors;
+
+}
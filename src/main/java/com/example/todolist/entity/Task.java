@@ -5,12 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import java.time.LocalDateTime;
 
 @Data
 @Document
+@Sharded(shardKey = {"listId", "id"}, immutableKey = true)
+@CompoundIndex(name = "listId_creationDate_id", def = "{'listId': 1, 'creationDate': 1, '_id': 1}")
+@CompoundIndex(name = "listId_taskStatus_creationDate_id", def = "{'listId': 1, 'taskStatus': 1, 'creationDate': 1, '_id': 1}")
+@CompoundIndex(name = "creationDate_id", def = "{'creationDate': 1, '_id': 1}")
+@CompoundIndex(name = "taskStatus_creationDate_id", def = "{'taskStatus': 1, 'creationDate': 1, '_id': 1}")
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Task {
@@ -20,5 +28,8 @@ public class Task {
     String description;
     LocalDateTime creationDate;
     TaskStatus taskStatus;
+    @Version
+    Long version;
+    String listId;
 
 }
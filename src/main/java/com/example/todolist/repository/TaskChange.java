@@ -0,0 +1,10 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Task;
+import lombok.Value;
+
+@Value
+public class TaskChange {
+    Task previous;
+    Task current;
+}
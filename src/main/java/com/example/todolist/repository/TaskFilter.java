@@ -0,0 +1,18 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.TaskStatus;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TaskFilter {
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null);
+
+    String listId;
+    TaskStatus status;
+    LocalDateTime createdFrom;
+    LocalDateTime createdTo;
+    Sort.Direction direction;
+}
@@ -3,7 +3,18 @@ package com.example.todolist.repository;
 import com.example.todolist.entity.Task;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface TaskRepository extends ReactiveCrudRepository<Task, String> {
+public interface TaskRepository extends ReactiveCrudRepository<Task, String>, TaskRepositoryCustom {
+
+    Mono<Task> findByIdAndListId(String id, String listId);
+
+    Mono<Boolean> existsByIdAndListId(String id, String listId);
+
+    Mono<Long> countByListId(String listId);
+
+    Mono<Task> removeByIdAndListId(String id, String listId);
+
+    Mono<Task> removeByIdAndListIdAndVersion(String id, String listId, Long version);
 }
@@ -0,0 +1,56 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+
+    Flux<Task> streamAll(TaskFilter filter, Set<String> fields, int cursorBatchSize);
+
+    Flux<Task> findPage(TaskFilter filter, Set<String> fields, LocalDateTime afterCreationDate, String afterId, int limit);
+
+    Flux<Task> streamAfterId(String afterId, int cursorBatchSize);
+
+    Mono<Task> findProjectedById(String id, String listId, Set<String> fields);
+
+    Mono<Map<Integer, String>> insertAll(List<Task> tasks, boolean ordered);
+
+    Mono<TaskChange> update(Task task, Long expectedVersion);
+
+    Mono<TaskChange> patch(Task changes, Long expectedVersion);
+
+    Flux<Task> findArchivable(LocalDateTime createdBefore, int limit);
+
+    Mono<List<String>> archive(List<Task> tasks);
+
+    Mono<Task> findArchivedById(String id);
+
+    Mono<Task> findArchivedById(String id, String listId, Set<String> fields);
+
+    Flux<Task> streamArchived(TaskFilter filter, Set<String> fields, int cursorBatchSize);
+
+    Flux<Task> streamArchivedAfterId(String afterId, int cursorBatchSize);
+
+    Mono<TaskChange> updateArchived(Task task, Long expectedVersion);
+
+    Mono<TaskChange> patchArchived(Task changes, Long expectedVersion);
+
+    Mono<Task> removeArchivedById(String id, String listId, Long version);
+
+    Mono<Void> createArchiveIndexes();
+
+    Mono<Map<TaskStatus, Long>> countByStatus();
+
+    Mono<Map<LocalDate, Long>> countCreatedPerDay(LocalDateTime createdFrom);
+
+    Flux<Optional<String>> watchChangedLists();
+}
@@ -0,0 +1,358 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    public static final String ARCHIVE_COLLECTION = "taskArchive";
+
+    ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Task> streamAll(TaskFilter filter, Set<String> fields, int cursorBatchSize) {
+        return mongoTemplate.find(project(filterQuery(filter), fields).cursorBatchSize(cursorBatchSize), Task.class);
+    }
+
+    @Override
+    public Flux<Task> streamAfterId(String afterId, int cursorBatchSize) {
+        return mongoTemplate.find(afterIdQuery(afterId).cursorBatchSize(cursorBatchSize), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findPage(TaskFilter filter, Set<String> fields, LocalDateTime afterCreationDate, String afterId, int limit) {
+        var direction = filter.getDirection() == null ? Sort.Direction.ASC : filter.getDirection();
+        var criteria = filterCriteria(filter);
+        if (afterCreationDate != null) {
+            criteria.add(direction.isAscending()
+                    ? new Criteria().orOperator(
+                            Criteria.where("creationDate").gt(afterCreationDate),
+                            Criteria.where("creationDate").is(afterCreationDate).and("id").gt(afterId))
+                    : new Criteria().orOperator(
+                            Criteria.where("creationDate").lt(afterCreationDate),
+                            Criteria.where("creationDate").is(afterCreationDate).and("id").lt(afterId)));
+        }
+        var query = query(criteria)
+                .with(Sort.by(direction, "creationDate", "id"))
+                .limit(limit);
+        return mongoTemplate.find(project(query, fields), Task.class);
+    }
+
+    @Override
+    public Mono<Task> findProjectedById(String id, String listId, Set<String> fields) {
+        return mongoTemplate.findOne(project(new Query(inList(id, listId)), fields), Task.class);
+    }
+
+    private static Query project(Query query, Set<String> fields) {
+        if (fields != null) {
+            query.fields().include(fields.toArray(String[]::new));
+        }
+        return query;
+    }
+
+    static Query filterQuery(TaskFilter filter) {
+        var query = query(filterCriteria(filter));
+        if (filter.getDirection() != null) {
+            query.with(Sort.by(filter.getDirection(), "creationDate", "id"));
+        }
+        return query;
+    }
+
+    static Query afterIdQuery(String afterId) {
+        var query = afterId == null ? new Query() : new Query(Criteria.where("id").gt(afterId));
+        return query.with(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    static Query archivableQuery(LocalDateTime createdBefore) {
+        return query(List.of(Criteria.where("taskStatus").is(TaskStatus.FINISHED), Criteria.where("creationDate").lt(createdBefore)))
+                .with(Sort.by(Sort.Direction.ASC, "creationDate", "id"));
+    }
+
+    private static List<Criteria> filterCriteria(TaskFilter filter) {
+        var criteria = new ArrayList<Criteria>();
+        criteria.add(Criteria.where("listId").is(filter.getListId()));
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("taskStatus").is(filter.getStatus()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            criteria.add(Criteria.where("creationDate").gte(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            criteria.add(Criteria.where("creationDate").lte(filter.getCreatedTo()));
+        }
+        return criteria;
+    }
+
+    private static Criteria inList(String id, String listId) {
+        return Criteria.where("listId").is(listId).and("id").is(id);
+    }
+
+    private static Query query(List<Criteria> criteria) {
+        var query = new Query();
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        return query;
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAll(List<Task> tasks, boolean ordered) {
+        var documents = tasks.stream()
+                .map(task -> {
+                    if (task.getId() == null) {
+                        task.setId(ObjectId.get().toHexString());
+                    }
+                    if (task.getVersion() == null) {
+                        task.setVersion(0L);
+                    }
+                    var document = new Document();
+                    mongoTemplate.getConverter().write(task, document);
+                    return document;
+                })
+                .toList();
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(ordered))))
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(MongoBulkWriteException.class, e -> {
+                    var writeErrors = new HashMap<Integer, String>();
+                    e.getWriteErrors().forEach(error -> writeErrors.put(error.getIndex(), error.getMessage()));
+                    return Mono.just(writeErrors);
+                });
+    }
+
+    @Override
+    public Mono<TaskChange> update(Task task, Long expectedVersion) {
+        return update(mongoTemplate.getCollectionName(Task.class), task, expectedVersion);
+    }
+
+    @Override
+    public Mono<TaskChange> patch(Task changes, Long expectedVersion) {
+        return patch(mongoTemplate.getCollectionName(Task.class), changes, expectedVersion);
+    }
+
+    private Mono<TaskChange> update(String collection, Task task, Long expectedVersion) {
+        var update = new Update()
+                .set("title", task.getTitle())
+                .set("description", task.getDescription())
+                .set("creationDate", task.getCreationDate())
+                .set("taskStatus", task.getTaskStatus());
+        return findAndModify(collection, task.getId(), task.getListId(), expectedVersion, update)
+                .map(previous -> new TaskChange(previous, new Task(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getCreationDate(), task.getTaskStatus(), nextVersion(previous), previous.getListId())));
+    }
+
+    private Mono<TaskChange> patch(String collection, Task changes, Long expectedVersion) {
+        var update = new Update();
+        if (changes.getTitle() != null) {
+            update.set("title", changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            update.set("description", changes.getDescription());
+        }
+        if (changes.getCreationDate() != null) {
+            update.set("creationDate", changes.getCreationDate());
+        }
+        if (changes.getTaskStatus() != null) {
+            update.set("taskStatus", changes.getTaskStatus());
+        }
+        return findAndModify(collection, changes.getId(), changes.getListId(), expectedVersion, update)
+                .map(previous -> new TaskChange(previous, new Task(previous.getId(),
+                        changes.getTitle() != null ? changes.getTitle() : previous.getTitle(),
+                        changes.getDescription() != null ? changes.getDescription() : previous.getDescription(),
+                        changes.getCreationDate() != null ? changes.getCreationDate() : previous.getCreationDate(),
+                        changes.getTaskStatus() != null ? changes.getTaskStatus() : previous.getTaskStatus(),
+                        nextVersion(previous), previous.getListId())));
+    }
+
+    @Override
+    public Flux<Task> findArchivable(LocalDateTime createdBefore, int limit) {
+        return mongoTemplate.find(archivableQuery(createdBefore).limit(limit), Task.class);
+    }
+
+    @Override
+    public Mono<List<String>> archive(List<Task> tasks) {
+        var replacements = tasks.stream()
+                .map(task -> {
+                    var document = new Document();
+                    mongoTemplate.getConverter().write(task, document);
+                    return new ReplaceOneModel<>(Filters.and(Filters.eq("listId", task.getListId()), Filters.eq("_id", document.get("_id"))), document,
+                            new ReplaceOptions().upsert(true));
+                })
+                .toList();
+        var ids = tasks.stream().map(Task::getId).toList();
+        var unchanged = new Criteria().orOperator(tasks.stream()
+                .map(task -> inList(task.getId(), task.getListId()).and("version").is(task.getVersion()))
+                .toList());
+        return mongoTemplate.getCollection(ARCHIVE_COLLECTION)
+                .flatMap(collection -> Mono.from(collection.bulkWrite(replacements, new BulkWriteOptions().ordered(false))))
+                .then(mongoTemplate.remove(new Query(unchanged), Task.class))
+                .flatMap(result -> result.getDeletedCount() == tasks.size()
+                        ? Mono.just(ids)
+                        : unarchiveChanged(ids));
+    }
+
+    @Override
+    public Mono<Task> findArchivedById(String id) {
+        return mongoTemplate.findById(id, Task.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Mono<Task> findArchivedById(String id, String listId, Set<String> fields) {
+        return mongoTemplate.findOne(project(new Query(inList(id, listId)), fields), Task.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Flux<Task> streamArchived(TaskFilter filter, Set<String> fields, int cursorBatchSize) {
+        return mongoTemplate.find(project(filterQuery(filter), fields).cursorBatchSize(cursorBatchSize), Task.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Flux<Task> streamArchivedAfterId(String afterId, int cursorBatchSize) {
+        return mongoTemplate.find(afterIdQuery(afterId).cursorBatchSize(cursorBatchSize), Task.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Mono<TaskChange> updateArchived(Task task, Long expectedVersion) {
+        return update(ARCHIVE_COLLECTION, task, expectedVersion);
+    }
+
+    @Override
+    public Mono<TaskChange> patchArchived(Task changes, Long expectedVersion) {
+        return patch(ARCHIVE_COLLECTION, changes, expectedVersion);
+    }
+
+    @Override
+    public Mono<Task> removeArchivedById(String id, String listId, Long version) {
+        var criteria = inList(id, listId);
+        if (version != null) {
+            criteria.and("version").is(version);
+        }
+        return mongoTemplate.findAndRemove(new Query(criteria), Task.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Mono<Void> createArchiveIndexes() {
+        return mongoTemplate.indexOps(ARCHIVE_COLLECTION)
+                .ensureIndex(new Index().on("listId", Sort.Direction.ASC).on("creationDate", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named("listId_creationDate_id"))
+                .then(mongoTemplate.indexOps(ARCHIVE_COLLECTION)
+                        .ensureIndex(new Index().on("creationDate", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("creationDate_id")))
+                .then();
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> countByStatus() {
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.group("taskStatus").count().as("count"));
+        return Mono.zip(mongoTemplate.aggregate(aggregation, Task.class, Document.class)
+                                .filter(document -> document.get("_id") != null)
+                                .collectMap(document -> TaskStatus.valueOf(document.getString("_id")),
+                                        document -> document.get("count", Number.class).longValue()),
+                        mongoTemplate.estimatedCount(ARCHIVE_COLLECTION))
+                .map(counts -> {
+                    var byStatus = new HashMap<>(counts.getT1());
+                    if (counts.getT2() > 0) {
+                        byStatus.merge(TaskStatus.FINISHED, counts.getT2(), Long::sum);
+                    }
+                    return byStatus;
+                });
+    }
+
+    @Override
+    public Mono<Map<LocalDate, Long>> countCreatedPerDay(LocalDateTime createdFrom) {
+        var day = DateOperators.dateOf("creationDate")
+                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                .toString("%Y-%m-%d");
+        var createdSince = Aggregation.match(Criteria.where("creationDate").gte(createdFrom));
+        var aggregation = Aggregation.newAggregation(
+                createdSince,
+                UnionWithOperation.unionWith(ARCHIVE_COLLECTION).pipeline(createdSince),
+                Aggregation.project().and(day).as("day"),
+                Aggregation.group("day").count().as("count"));
+        return mongoTemplate.aggregate(aggregation, Task.class, Document.class)
+                .collectMap(document -> LocalDate.parse(document.getString("_id")),
+                        document -> document.get("count", Number.class).longValue());
+    }
+
+    @Override
+    public Flux<Optional<String>> watchChangedLists() {
+        var collections = Set.of(mongoTemplate.getCollectionName(Task.class), ARCHIVE_COLLECTION);
+        return mongoTemplate.changeStream(Document.class)
+                .withOptions(options -> options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP))
+                .listen()
+                .filter(event -> collections.contains(event.getCollectionName()))
+                .map(event -> changedList(event.getRaw()));
+    }
+
+    private static Optional<String> changedList(ChangeStreamDocument<Document> change) {
+        if (change == null) {
+            return Optional.empty();
+        }
+        if (change.getFullDocument() != null) {
+            return Optional.of(Objects.requireNonNullElse(change.getFullDocument().getString("listId"), ""));
+        }
+        var listId = change.getDocumentKey() == null ? null : change.getDocumentKey().get("listId");
+        return listId != null && listId.isString() ? Optional.of(listId.asString().getValue()) : Optional.empty();
+    }
+
+    private Mono<List<String>> unarchiveChanged(List<String> ids) {
+        var query = new Query(Criteria.where("id").in(ids));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Task.class)
+                .map(Task::getId)
+                .collect(Collectors.toSet())
+                .flatMap(changed -> mongoTemplate.remove(new Query(Criteria.where("id").in(changed)), Task.class, ARCHIVE_COLLECTION)
+                        .thenReturn(ids.stream().filter(id -> !changed.contains(id)).toList()));
+    }
+
+    private Mono<Task> findAndModify(String collection, String id, String listId, Long expectedVersion, Update update) {
+        var criteria = inList(id, listId);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        update.inc("version", 1);
+        return mongoTemplate.findAndModify(Query.query(criteria), update, FindAndModifyOptions.options().returnNew(false), Task.class, collection);
+    }
+
+    private static Long nextVersion(Task previous) {
+        return previous.getVersion() == null ? 1L : previous.getVersion() + 1;
+    }
+}
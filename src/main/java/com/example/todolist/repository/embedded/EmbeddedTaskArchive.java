@@ -0,0 +1,37 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.config.TaskProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Profile("embedded")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EmbeddedTaskArchive {
+    private static final String DIRECTORY = "archive";
+
+    @Getter
+    EmbeddedTaskStore store;
+
+    public EmbeddedTaskArchive(TaskProperties taskProperties) throws IOException {
+        var properties = taskProperties.getEmbedded();
+        this.store = new EmbeddedTaskStore(properties, properties.getDirectory().resolve(DIRECTORY));
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.embedded.compaction-interval:PT1M}")
+    public void compact() throws IOException {
+        store.compact();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        store.close();
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskChange;
+import com.example.todolist.repository.TaskFilter;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("embedded")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class EmbeddedTaskRepository implements TaskRepository {
+    EmbeddedTaskStore store;
+    EmbeddedTaskArchive archive;
+    Scheduler writer = Schedulers.newSingle("embedded-task-writer", true);
+
+    @Override
+    public Mono<Task> findByIdAndListId(String id, String listId) {
+        return Mono.fromSupplier(() -> inList(store.get(id), listId));
+    }
+
+    @Override
+    public Mono<Boolean> existsByIdAndListId(String id, String listId) {
+        return findByIdAndListId(id, listId).hasElement();
+    }
+
+    @Override
+    public Mono<Long> countByListId(String listId) {
+        return Mono.fromSupplier(() -> (long) store.size(listId));
+    }
+
+    @Override
+    public Mono<Task> removeByIdAndListId(String id, String listId) {
+        return write(() -> store.atomically(() -> inList(store.get(id), listId) != null ? store.remove(id) : null));
+    }
+
+    @Override
+    public Mono<Task> removeByIdAndListIdAndVersion(String id, String listId, Long version) {
+        return write(() -> store.atomically(() -> {
+            var current = inList(store.get(id), listId);
+            return current != null && Objects.equals(current.getVersion(), version) ? store.remove(id) : null;
+        }));
+    }
+
+    @Override
+    public Flux<Task> streamAll(TaskFilter filter, Set<String> fields, int cursorBatchSize) {
+        return stream(store, filter, fields);
+    }
+
+    @Override
+    public Flux<Task> streamAfterId(String afterId, int cursorBatchSize) {
+        return Flux.fromStream(() -> store.afterId(afterId));
+    }
+
+    @Override
+    public Flux<Task> findPage(TaskFilter filter, Set<String> fields, LocalDateTime afterCreationDate, String afterId, int limit) {
+        var direction = filter.getDirection() == null ? Sort.Direction.ASC : filter.getDirection();
+        var after = afterCreationDate == null ? null : new TaskSortKey(afterCreationDate, afterId);
+        return Flux.fromStream(() -> sorted(store, filter, direction, after).limit(limit).map(task -> project(task, fields)));
+    }
+
+    @Override
+    public Mono<Task> findProjectedById(String id, String listId, Set<String> fields) {
+        return findByIdAndListId(id, listId).map(task -> project(task, fields));
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAll(List<Task> tasks, boolean ordered) {
+        return write(() -> store.atomically(() -> {
+            tasks.forEach(task -> {
+                if (task.getId() == null) {
+                    task.setId(ObjectId.get().toHexString());
+                }
+                if (task.getVersion() == null) {
+                    task.setVersion(0L);
+                }
+            });
+            var writeErrors = new HashMap<Integer, String>();
+            for (int i = 0; i < tasks.size(); i++) {
+                var task = tasks.get(i);
+                if (store.contains(task.getId())) {
+                    writeErrors.put(i, duplicateKey(task.getId()));
+                    if (ordered) {
+                        break;
+                    }
+                } else {
+                    store.put(task);
+                }
+            }
+            return writeErrors;
+        }));
+    }
+
+    @Override
+    public Mono<TaskChange> update(Task task, Long expectedVersion) {
+        return change(store, task.getId(), task.getListId(), expectedVersion, replacedBy(task));
+    }
+
+    @Override
+    public Mono<TaskChange> patch(Task changes, Long expectedVersion) {
+        return change(store, changes.getId(), changes.getListId(), expectedVersion, patchedBy(changes));
+    }
+
+    @Override
+    public Flux<Task> findArchivable(LocalDateTime createdBefore, int limit) {
+        return Flux.fromStream(() -> store.createdBefore(createdBefore)
+                .filter(task -> task.getCreationDate() != null && task.getTaskStatus() == TaskStatus.FINISHED)
+                .limit(limit));
+    }
+
+    @Override
+    public Mono<List<String>> archive(List<Task> tasks) {
+        return write(() -> store.atomically(() -> {
+            var archived = new ArrayList<String>();
+            for (var task : tasks) {
+                var current = store.get(task.getId());
+                if (current != null && Objects.equals(current.getVersion(), task.getVersion())) {
+                    archive.getStore().put(current);
+                    store.remove(task.getId());
+                    archived.add(task.getId());
+                }
+            }
+            return archived;
+        }));
+    }
+
+    @Override
+    public Mono<Task> findArchivedById(String id) {
+        return Mono.fromSupplier(() -> archive.getStore().get(id));
+    }
+
+    @Override
+    public Mono<Task> findArchivedById(String id, String listId, Set<String> fields) {
+        return Mono.fromSupplier(() -> inList(archive.getStore().get(id), listId)).map(task -> project(task, fields));
+    }
+
+    @Override
+    public Flux<Task> streamArchived(TaskFilter filter, Set<String> fields, int cursorBatchSize) {
+        return stream(archive.getStore(), filter, fields);
+    }
+
+    @Override
+    public Flux<Task> streamArchivedAfterId(String afterId, int cursorBatchSize) {
+        return Flux.fromStream(() -> archive.getStore().afterId(afterId));
+    }
+
+    @Override
+    public Mono<TaskChange> updateArchived(Task task, Long expectedVersion) {
+        return change(archive.getStore(), task.getId(), task.getListId(), expectedVersion, replacedBy(task));
+    }
+
+    @Override
+    public Mono<TaskChange> patchArchived(Task changes, Long expectedVersion) {
+        return change(archive.getStore(), changes.getId(), changes.getListId(), expectedVersion, patchedBy(changes));
+    }
+
+    @Override
+    public Mono<Task> removeArchivedById(String id, String listId, Long version) {
+        var archived = archive.getStore();
+        return write(() -> archived.atomically(() -> {
+            var current = inList(archived.get(id), listId);
+            return current != null && (version == null || version.equals(current.getVersion())) ? archived.remove(id) : null;
+        }));
+    }
+
+    @Override
+    public Mono<Void> createArchiveIndexes() {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Long>> countByStatus() {
+        return Mono.fromCallable(() -> Stream.concat(store.all(), archive.getStore().all())
+                .filter(task -> task.getTaskStatus() != null)
+                .collect(Collectors.groupingBy(Task::getTaskStatus, () -> new EnumMap<>(TaskStatus.class), Collectors.counting())));
+    }
+
+    @Override
+    public Mono<Map<LocalDate, Long>> countCreatedPerDay(LocalDateTime createdFrom) {
+        return Mono.fromCallable(() -> Stream.concat(store.createdFrom(createdFrom), archive.getStore().createdFrom(createdFrom))
+                .collect(Collectors.groupingBy(task -> task.getCreationDate().toLocalDate(), TreeMap::new, Collectors.counting())));
+    }
+
+    @Override
+    public Flux<Optional<String>> watchChangedLists() {
+        return Flux.empty();
+    }
+
+    @Override
+    public <S extends Task> Mono<S> save(S entity) {
+        Assert.notNull(entity, "Entity must not be null");
+        return write(() -> store.atomically(() -> {
+            if (entity.getId() == null) {
+                entity.setId(ObjectId.get().toHexString());
+            }
+            if (entity.getVersion() == null) {
+                if (store.contains(entity.getId())) {
+                    throw new DuplicateKeyException(duplicateKey(entity.getId()));
+                }
+                entity.setVersion(0L);
+            } else {
+                var current = store.get(entity.getId());
+                if (current == null || !entity.getVersion().equals(current.getVersion())) {
+                    throw new OptimisticLockingFailureException("Task " + entity.getId() + " with version " + entity.getVersion() + " does not exist");
+                }
+                entity.setVersion(entity.getVersion() + 1);
+            }
+            store.put(entity);
+            return entity;
+        }));
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Task> findById(String id) {
+        Assert.notNull(id, "The given id must not be null");
+        return Mono.fromCallable(() -> store.get(id));
+    }
+
+    @Override
+    public Mono<Task> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        Assert.notNull(id, "The given id must not be null");
+        return Mono.fromCallable(() -> store.contains(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Task> findAll() {
+        return Flux.fromStream(store::all);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).mapNotNull(store::get);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).mapNotNull(store::get);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromCallable(() -> (long) store.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        Assert.notNull(id, "The given id must not be null");
+        return write(() -> store.remove(id)).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Flux.from(id).concatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> delete(Task entity) {
+        Assert.notNull(entity, "The given entity must not be null");
+        return write(() -> store.atomically(() -> {
+            var current = store.get(entity.getId());
+            if (entity.getVersion() != null && (current == null || !entity.getVersion().equals(current.getVersion()))) {
+                throw new OptimisticLockingFailureException("Task " + entity.getId() + " with version " + entity.getVersion() + " does not exist");
+            }
+            return store.remove(entity.getId());
+        })).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Task> entities) {
+        return Flux.fromIterable(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Task> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return write(() -> {
+            store.clear();
+            return null;
+        }).then();
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.dispose();
+    }
+
+    private Mono<TaskChange> change(EmbeddedTaskStore store, String id, String listId, Long expectedVersion, UnaryOperator<Task> modification) {
+        return write(() -> store.atomically(() -> {
+            var previous = inList(store.get(id), listId);
+            if (previous == null || (expectedVersion != null && !expectedVersion.equals(previous.getVersion()))) {
+                return null;
+            }
+            var current = modification.apply(previous);
+            store.put(current);
+            return new TaskChange(previous, current);
+        }));
+    }
+
+    private <T> Mono<T> write(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(writer);
+    }
+
+    private static UnaryOperator<Task> replacedBy(Task task) {
+        return previous -> new Task(task.getId(), task.getTitle(), task.getDescription(),
+                task.getCreationDate(), task.getTaskStatus(), nextVersion(previous), previous.getListId());
+    }
+
+    private static UnaryOperator<Task> patchedBy(Task changes) {
+        return previous -> new Task(previous.getId(),
+                changes.getTitle() != null ? changes.getTitle() : previous.getTitle(),
+                changes.getDescription() != null ? changes.getDescription() : previous.getDescription(),
+                changes.getCreationDate() != null ? changes.getCreationDate() : previous.getCreationDate(),
+                changes.getTaskStatus() != null ? changes.getTaskStatus() : previous.getTaskStatus(),
+                nextVersion(previous), previous.getListId());
+    }
+
+    private static Flux<Task> stream(EmbeddedTaskStore store, TaskFilter filter, Set<String> fields) {
+        var direction = filter.getDirection() == null ? Sort.Direction.ASC : filter.getDirection();
+        return Flux.fromStream(() -> sorted(store, filter, direction, null).map(task -> project(task, fields)));
+    }
+
+    private static Stream<Task> sorted(EmbeddedTaskStore store, TaskFilter filter, Sort.Direction direction, TaskSortKey after) {
+        var ascending = direction.isAscending();
+        TaskSortKey bound = null;
+        if (ascending && filter.getCreatedFrom() != null) {
+            bound = new TaskSortKey(filter.getCreatedFrom(), null);
+        } else if (!ascending && filter.getCreatedTo() != null) {
+            bound = new TaskSortKey(filter.getCreatedTo().plusNanos(1), null);
+        }
+        var start = after;
+        if (bound != null && (after == null || (ascending ? bound.compareTo(after) > 0 : bound.compareTo(after) < 0))) {
+            start = bound;
+        }
+        return store.byCreationDate(filter.getListId(), start, ascending)
+                .takeWhile(task -> task.getCreationDate() == null || (ascending
+                        ? filter.getCreatedTo() == null || !task.getCreationDate().isAfter(filter.getCreatedTo())
+                        : filter.getCreatedFrom() == null || !task.getCreationDate().isBefore(filter.getCreatedFrom())))
+                .filter(task -> matches(filter, task));
+    }
+
+    private static Task project(Task task, Set<String> fields) {
+        if (fields == null) {
+            return task;
+        }
+        return new Task(task.getId(),
+                fields.contains("title") ? task.getTitle() : null,
+                fields.contains("description") ? task.getDescription() : null,
+                fields.contains("creationDate") ? task.getCreationDate() : null,
+                fields.contains("taskStatus") ? task.getTaskStatus() : null,
+                fields.contains("version") ? task.getVersion() : null,
+                fields.contains("listId") ? task.getListId() : null);
+    }
+
+    private static Task inList(Task task, String listId) {
+        return task != null && Objects.equals(task.getListId(), listId) ? task : null;
+    }
+
+    private static boolean matches(TaskFilter filter, Task task) {
+        if (filter.getStatus() != null && filter.getStatus() != task.getTaskStatus()) {
+            return false;
+        }
+        var creationDate = task.getCreationDate();
+        if (filter.getCreatedFrom() != null && (creationDate == null || creationDate.isBefore(filter.getCreatedFrom()))) {
+            return false;
+        }
+        return filter.getCreatedTo() == null || (creationDate != null && !creationDate.isAfter(filter.getCreatedTo()));
+    }
+
+    private static Long nextVersion(Task previous) {
+        return previous.getVersion() == null ? 1L : previous.getVersion() + 1;
+    }
+
+    private static String duplicateKey(String id) {
+        return "Task with ID " + id + " already exists";
+    }
+}
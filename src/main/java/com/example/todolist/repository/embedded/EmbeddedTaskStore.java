@@ -0,0 +1,317 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+@Profile("embedded")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmbeddedTaskStore {
+    private static final String LOG_PREFIX = "log-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_BUFFER_SIZE = 1 << 20;
+    private static final String NO_LIST = "";
+
+    final NavigableMap<String, Task> byId = new ConcurrentSkipListMap<>();
+    final Map<String, NavigableMap<TaskSortKey, Task>> byList = new ConcurrentHashMap<>();
+    final ReentrantLock compactionLock = new ReentrantLock();
+    final TaskProperties.Embedded properties;
+    final Path directory;
+    final int segmentSize;
+    TaskLogSegment segment;
+    long recordsSinceSnapshot;
+
+    @Autowired
+    public EmbeddedTaskStore(TaskProperties taskProperties) throws IOException {
+        this(taskProperties.getEmbedded(), taskProperties.getEmbedded().getDirectory());
+    }
+
+    EmbeddedTaskStore(TaskProperties.Embedded properties, Path directory) throws IOException {
+        this.properties = properties;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        Files.createDirectories(directory);
+        load();
+    }
+
+    public Task get(String id) {
+        return copy(byId.get(id));
+    }
+
+    public boolean contains(String id) {
+        return byId.containsKey(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Stream<Task> all() {
+        return byId.values().stream().map(EmbeddedTaskStore::copy);
+    }
+
+    public Stream<Task> afterId(String afterId) {
+        var view = afterId == null ? byId : byId.tailMap(afterId, false);
+        return view.values().stream().map(EmbeddedTaskStore::copy);
+    }
+
+    public int size(String listId) {
+        var list = byList.get(listKey(listId));
+        return list == null ? 0 : list.size();
+    }
+
+    public Stream<Task> byCreationDate(String listId, TaskSortKey after, boolean ascending) {
+        var list = byList.get(listKey(listId));
+        if (list == null) {
+            return Stream.empty();
+        }
+        var index = ascending ? list : list.descendingMap();
+        var view = after == null ? index : index.tailMap(after, false);
+        return view.values().stream().map(EmbeddedTaskStore::copy);
+    }
+
+    public Stream<Task> createdFrom(LocalDateTime createdFrom) {
+        var from = new TaskSortKey(createdFrom, null);
+        return byList.values().stream().flatMap(list -> list.tailMap(from, true).values().stream()).map(EmbeddedTaskStore::copy);
+    }
+
+    public Stream<Task> createdBefore(LocalDateTime createdBefore) {
+        var before = new TaskSortKey(createdBefore, null);
+        return byList.values().stream().flatMap(list -> list.headMap(before, false).values().stream()).map(EmbeddedTaskStore::copy);
+    }
+
+    public synchronized <T> T atomically(Supplier<T> operation) {
+        return operation.get();
+    }
+
+    public synchronized Task put(Task task) {
+        append(TaskRecordCodec.put(task));
+        return copy(index(copy(task)));
+    }
+
+    public synchronized Task remove(String id) {
+        if (!byId.containsKey(id)) {
+            return null;
+        }
+        append(TaskRecordCodec.delete(id));
+        return copy(unindex(id));
+    }
+
+    public synchronized void clear() {
+        append(TaskRecordCodec.clear());
+        byId.clear();
+        byList.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.embedded.compaction-interval:PT1M}")
+    public void compact() throws IOException {
+        if (!compactionLock.tryLock()) {
+            return;
+        }
+        try {
+            long snapshotNumber;
+            List<Task> state;
+            synchronized (this) {
+                if (recordsSinceSnapshot < properties.getCompactionMinRecords() || recordsSinceSnapshot <= byId.size()) {
+                    return;
+                }
+                rotate();
+                snapshotNumber = segment.getNumber();
+                state = new ArrayList<>(byId.values());
+                recordsSinceSnapshot = 0;
+            }
+            writeSnapshot(snapshotNumber, state);
+            deleteOlderThan(snapshotNumber);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        segment.close();
+    }
+
+    private void load() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : files.filter(path -> path.getFileName().toString().endsWith(TEMPORARY_SUFFIX)).toList()) {
+                Files.delete(file);
+            }
+        }
+        var snapshots = numbers(SNAPSHOT_PREFIX);
+        var snapshotNumber = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+        if (!snapshots.isEmpty()) {
+            replay(path(SNAPSHOT_PREFIX, snapshotNumber), this::apply);
+        }
+        var segments = numbers(LOG_PREFIX).stream().filter(number -> number >= snapshotNumber).toList();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            recordsSinceSnapshot += replay(path(LOG_PREFIX, segments.get(i)), this::apply);
+        }
+        var last = segments.isEmpty() ? snapshotNumber : segments.get(segments.size() - 1);
+        segment = TaskLogSegment.open(path(LOG_PREFIX, last), last, segmentSize, this::apply);
+        recordsSinceSnapshot += segment.getRecords();
+        deleteOlderThan(snapshotNumber);
+    }
+
+    private void apply(TaskRecord record) {
+        switch (record.getType()) {
+            case PUT -> index(record.getTask());
+            case DELETE -> unindex(record.getId());
+            case CLEAR -> {
+                byId.clear();
+                byList.clear();
+            }
+        }
+    }
+
+    private Task index(Task task) {
+        var previous = byId.put(task.getId(), task);
+        if (previous != null) {
+            removeFromList(previous);
+        }
+        byList.computeIfAbsent(listKey(task.getListId()), key -> new ConcurrentSkipListMap<>()).put(TaskSortKey.of(task), task);
+        return previous;
+    }
+
+    private Task unindex(String id) {
+        var previous = byId.remove(id);
+        if (previous != null) {
+            removeFromList(previous);
+        }
+        return previous;
+    }
+
+    private void removeFromList(Task task) {
+        byList.computeIfPresent(listKey(task.getListId()), (key, list) -> {
+            list.remove(TaskSortKey.of(task));
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void append(ByteBuffer record) {
+        try {
+            if (!segment.append(record)) {
+                rotate();
+                if (!segment.append(record)) {
+                    throw new IllegalStateException("Task record is larger than log segment");
+                }
+            }
+            if (properties.isFsync()) {
+                segment.force();
+            }
+            recordsSinceSnapshot++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.close();
+        var number = segment.getNumber() + 1;
+        segment = TaskLogSegment.open(path(LOG_PREFIX, number), number, segmentSize, record -> {
+        });
+    }
+
+    private void writeSnapshot(long number, Collection<Task> tasks) throws IOException {
+        var temporary = directory.resolve(SNAPSHOT_PREFIX + number + TEMPORARY_SUFFIX);
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            var buffer = ByteBuffer.allocateDirect(SNAPSHOT_BUFFER_SIZE);
+            for (var task : tasks) {
+                var record = TaskRecordCodec.put(task);
+                if (record.remaining() > buffer.remaining()) {
+                    write(channel, buffer.flip());
+                    buffer.clear();
+                }
+                if (record.remaining() > buffer.capacity()) {
+                    write(channel, record);
+                } else {
+                    buffer.put(record);
+                }
+            }
+            write(channel, buffer.flip());
+            channel.force(true);
+        }
+        Files.move(temporary, path(SNAPSHOT_PREFIX, number), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteOlderThan(long number) throws IOException {
+        for (var prefix : List.of(LOG_PREFIX, SNAPSHOT_PREFIX)) {
+            for (var older : numbers(prefix)) {
+                if (older < number) {
+                    Files.deleteIfExists(path(prefix, older));
+                }
+            }
+        }
+    }
+
+    private List<Long> numbers(String prefix) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(FILE_SUFFIX))
+                    .map(name -> Long.parseLong(name, prefix.length(), name.length() - FILE_SUFFIX.length(), 10))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path path(String prefix, long number) {
+        return directory.resolve(prefix + number + FILE_SUFFIX);
+    }
+
+    private static long replay(Path path, Consumer<TaskRecord> consumer) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            var records = new long[1];
+            TaskLogSegment.replay(buffer, (int) channel.size(), record -> {
+                records[0]++;
+                consumer.accept(record);
+            });
+            return records[0];
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String listKey(String listId) {
+        return listId == null ? NO_LIST : listId;
+    }
+
+    private static Task copy(Task task) {
+        return task == null ? null : new Task(task.getId(), task.getTitle(), task.getDescription(),
+                task.getCreationDate(), task.getTaskStatus(), task.getVersion(), task.getListId());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todolist.repository.embedded;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+final class TaskLogSegment implements AutoCloseable {
+    final FileChannel channel;
+    final MappedByteBuffer buffer;
+    @Getter
+    final long number;
+    @Getter
+    int records;
+    int position;
+
+    private TaskLogSegment(long number, FileChannel channel, MappedByteBuffer buffer) {
+        this.number = number;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static TaskLogSegment open(Path path, long number, int size, Consumer<TaskRecord> replay) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var capacity = (int) Math.max(size, channel.size());
+        var segment = new TaskLogSegment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        segment.position = replay(segment.buffer, capacity, record -> {
+            segment.records++;
+            replay.accept(record);
+        });
+        segment.terminate();
+        return segment;
+    }
+
+    static int replay(ByteBuffer buffer, int limit, Consumer<TaskRecord> consumer) {
+        var position = 0;
+        int length;
+        while ((length = TaskRecordCodec.frameLength(buffer, position, limit)) > 0) {
+            consumer.accept(TaskRecordCodec.decode(buffer, position));
+            position += length;
+        }
+        return position;
+    }
+
+    boolean append(ByteBuffer record) {
+        var length = record.remaining();
+        if (position + length > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(position, record, record.position(), length);
+        position += length;
+        records++;
+        terminate();
+        return true;
+    }
+
+    int size() {
+        return position;
+    }
+
+    void force() {
+        buffer.force(0, position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void terminate() {
+        if (position + Integer.BYTES <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+    }
+}
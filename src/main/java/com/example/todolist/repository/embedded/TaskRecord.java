@@ -0,0 +1,15 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.entity.Task;
+import lombok.Value;
+
+@Value
+class TaskRecord {
+    Type type;
+    String id;
+    Task task;
+
+    enum Type {
+        PUT, DELETE, CLEAR
+    }
+}
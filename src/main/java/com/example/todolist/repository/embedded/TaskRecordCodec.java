@@ -0,0 +1,174 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+final class TaskRecordCodec {
+    static final int FRAME_OVERHEAD = 2 * Integer.BYTES;
+
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 1 << 1;
+    private static final int CREATION_DATE = 1 << 2;
+    private static final int TASK_STATUS = 1 << 3;
+    private static final int VERSION = 1 << 4;
+    private static final int LIST_ID = 1 << 5;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskRecord.Type[] TYPES = TaskRecord.Type.values();
+
+    private TaskRecordCodec() {
+    }
+
+    static ByteBuffer put(Task task) {
+        var title = bytes(task.getTitle());
+        var description = bytes(task.getDescription());
+        var id = bytes(task.getId());
+        var listId = bytes(task.getListId());
+        var buffer = ByteBuffer.allocate(FRAME_OVERHEAD + 2 + 4 * 5 + id.length + title.length + description.length + listId.length + 10 + 5 + 1 + 10);
+        buffer.position(Integer.BYTES);
+        buffer.put((byte) TaskRecord.Type.PUT.ordinal());
+        putString(buffer, id);
+        var flags = (task.getTitle() != null ? TITLE : 0)
+                | (task.getDescription() != null ? DESCRIPTION : 0)
+                | (task.getCreationDate() != null ? CREATION_DATE : 0)
+                | (task.getTaskStatus() != null ? TASK_STATUS : 0)
+                | (task.getVersion() != null ? VERSION : 0)
+                | (task.getListId() != null ? LIST_ID : 0);
+        buffer.put((byte) flags);
+        if (task.getTitle() != null) {
+            putString(buffer, title);
+        }
+        if (task.getDescription() != null) {
+            putString(buffer, description);
+        }
+        if (task.getCreationDate() != null) {
+            putVarLong(buffer, zigZag(task.getCreationDate().toEpochSecond(ZoneOffset.UTC)));
+            putVarLong(buffer, task.getCreationDate().getNano());
+        }
+        if (task.getTaskStatus() != null) {
+            buffer.put((byte) task.getTaskStatus().ordinal());
+        }
+        if (task.getVersion() != null) {
+            putVarLong(buffer, zigZag(task.getVersion()));
+        }
+        if (task.getListId() != null) {
+            putString(buffer, listId);
+        }
+        return frame(buffer);
+    }
+
+    static ByteBuffer delete(String id) {
+        var bytes = bytes(id);
+        var buffer = ByteBuffer.allocate(FRAME_OVERHEAD + 1 + 5 + bytes.length);
+        buffer.position(Integer.BYTES);
+        buffer.put((byte) TaskRecord.Type.DELETE.ordinal());
+        putString(buffer, bytes);
+        return frame(buffer);
+    }
+
+    static ByteBuffer clear() {
+        var buffer = ByteBuffer.allocate(FRAME_OVERHEAD + 1);
+        buffer.position(Integer.BYTES);
+        buffer.put((byte) TaskRecord.Type.CLEAR.ordinal());
+        return frame(buffer);
+    }
+
+    static int frameLength(ByteBuffer buffer, int position, int limit) {
+        if (position + Integer.BYTES > limit) {
+            return -1;
+        }
+        var length = buffer.getInt(position);
+        if (length <= 0 || (long) position + length + FRAME_OVERHEAD > limit) {
+            return -1;
+        }
+        var payload = buffer.slice(position + Integer.BYTES, length);
+        var crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES + length)) {
+            return -1;
+        }
+        return length + FRAME_OVERHEAD;
+    }
+
+    static TaskRecord decode(ByteBuffer buffer, int position) {
+        var length = buffer.getInt(position);
+        var payload = buffer.slice(position + Integer.BYTES, length);
+        var type = TYPES[payload.get()];
+        if (type == TaskRecord.Type.CLEAR) {
+            return new TaskRecord(type, null, null);
+        }
+        var id = getString(payload);
+        if (type == TaskRecord.Type.DELETE) {
+            return new TaskRecord(type, id, null);
+        }
+        var flags = payload.get();
+        var title = (flags & TITLE) != 0 ? getString(payload) : null;
+        var description = (flags & DESCRIPTION) != 0 ? getString(payload) : null;
+        LocalDateTime creationDate = null;
+        if ((flags & CREATION_DATE) != 0) {
+            var epochSecond = unZigZag(getVarLong(payload));
+            creationDate = LocalDateTime.ofEpochSecond(epochSecond, (int) getVarLong(payload), ZoneOffset.UTC);
+        }
+        var taskStatus = (flags & TASK_STATUS) != 0 ? STATUSES[payload.get()] : null;
+        var version = (flags & VERSION) != 0 ? unZigZag(getVarLong(payload)) : null;
+        var listId = (flags & LIST_ID) != 0 ? getString(payload) : null;
+        return new TaskRecord(type, id, new Task(id, title, description, creationDate, taskStatus, version, listId));
+    }
+
+    private static ByteBuffer frame(ByteBuffer buffer) {
+        var length = buffer.position() - Integer.BYTES;
+        buffer.putInt(0, length);
+        var crc = new CRC32C();
+        crc.update(buffer.slice(Integer.BYTES, length));
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        putVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        var bytes = new byte[(int) getVarLong(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            var b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable length number");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
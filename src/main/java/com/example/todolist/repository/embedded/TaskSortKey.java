@@ -0,0 +1,26 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.entity.Task;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Value
+class TaskSortKey implements Comparable<TaskSortKey> {
+    private static final Comparator<TaskSortKey> ORDER = Comparator
+            .comparing(TaskSortKey::getCreationDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TaskSortKey::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    LocalDateTime creationDate;
+    String id;
+
+    static TaskSortKey of(Task task) {
+        return new TaskSortKey(task.getCreationDate(), task.getId());
+    }
+
+    @Override
+    public int compareTo(TaskSortKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -1,6 +1,16 @@
 package com.example.todolist.rest;
 
+import com.example.todolist.config.CodecConfig;
+import com.example.todolist.dto.TaskBulkResultDto;
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.dto.TaskValidationErrorDto;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.service.TaskCollectionVersion;
 import com.example.todolist.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,17 +19,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/tasks")
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final String SUBSCRIBED_COMMENT = "subscribed";
+
     TaskService taskService;
+    TaskCollectionVersion taskCollectionVersion;
 
     @Operation(summary = "Create new task",
             responses = {
@@ -27,28 +48,118 @@ public class TaskController {
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = TaskDto.class))),
                     @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
-                            schema = @Schema(hidden = true)))})
+                            schema = @Schema(implementation = TaskValidationErrorDto.class)))})
     @PostMapping
     public Mono<TaskDto> createTask(@RequestBody TaskDto taskDto) {
-        return taskService.createTask(taskDto);
+        return taskService.createTask(null, taskDto);
+    }
+
+    @Operation(summary = "Create many tasks at once",
+            description = "Accepts a JSON or Smile array or a stream of application/x-ndjson or application/stream+x-jackson-smile tasks, valid tasks are inserted in batches",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Result for every task with its index and either created ID or error",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskBulkResultDto.class)))})
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    CodecConfig.APPLICATION_SMILE_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    CodecConfig.APPLICATION_SMILE_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<TaskBulkResultDto> createTasks(@RequestBody Flux<TaskDto> taskDtos) {
+        return taskService.createTasks(taskDtos);
+    }
+
+    @Operation(summary = "Get all tasks",
+            description = "Tasks can be filtered by status and creation date range and sorted by creationDate or -creationDate. "
+                    + "Tasks are written one by one as they are read from the database for application/x-ndjson, application/stream+x-jackson-smile and text/event-stream. "
+                    + "Fields limits the properties read from the database and returned, for example fields=id,title,taskStatus. "
+                    + "Finished tasks moved to the archive are only returned with includeArchived=true. "
+                    + "The ETag changes with every write, so a poller sending it back in If-None-Match gets 304 while nothing changed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks with ETag and Last-Modified of the collection"),
+                    @ApiResponse(responseCode = "304", description = "No task was written since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true)))})
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+            CodecConfig.APPLICATION_SMILE_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
+    public ResponseEntity<Flux<TaskDto>> getAllTasks(@RequestParam(required = false) TaskStatus status,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String fields,
+                                                     @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                     ServerHttpRequest request) {
+        return withCollectionETag(null, request, taskService.getAllTasks(null, status, createdFrom, createdTo, sort, fields, includeArchived));
+    }
+
+    @Operation(summary = "Get page of tasks ordered by creation date",
+            description = "Accepts the same filters and fields as the list of all tasks, sort and filters must stay the same for all pages",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of tasks with cursor of the next page, cursor is empty on the last page",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskPageDto.class))),
+                    @ApiResponse(responseCode = "304", description = "No task was written since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit, cursor or fields", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping(params = "limit")
+    public ResponseEntity<Mono<TaskPageDto>> getTasksPage(@RequestParam int limit, @RequestParam(required = false) String after,
+                                                          @RequestParam(required = false) TaskStatus status,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                          @RequestParam(required = false) String sort,
+                                                          @RequestParam(required = false) String fields,
+                                                          ServerHttpRequest request) {
+        return withCollectionETag(null, request, taskService.getTasksPage(null, limit, after, status, createdFrom, createdTo, sort, fields));
+    }
+
+    @Operation(summary = "Suggest tasks by title prefix",
+            description = "Case insensitive title prefix search over tasks without a list served from an in-memory index, tasks are ordered by title",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Up to limit tasks with title starting with prefix",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskSuggestionDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty prefix or limit out of range", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping("/suggest")
+    public Flux<TaskSuggestionDto> suggestTasks(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return taskService.suggestTasks(null, prefix, limit);
+    }
+
+    @Operation(summary = "Get task statistics",
+            description = "Number of tasks per status and number of tasks created per day, counters are kept in memory "
+                    + "and periodically reconciled with the database",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task statistics",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskStatsDto.class)))})
+    @GetMapping("/stats")
+    public Mono<TaskStatsDto> getTaskStats() {
+        return taskService.getTaskStats();
     }
 
-    @Operation(summary = "Get all tasks")
-    @GetMapping
-    public Flux<TaskDto> getAllTasks() {
-        return taskService.getAllTasks();
+    @Operation(summary = "Subscribe to task changes",
+            description = "Server-Sent Events of created, updated and deleted tasks without a list, deleted events are sent regardless of the status filter")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEventDto>> getTaskEvents(@RequestParam(required = false) TaskStatus status) {
+        return taskService.getTaskEvents(null, status)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name())
+                        .build())
+                .mergeWith(Mono.just(ServerSentEvent.<TaskEventDto>builder().comment(SUBSCRIBED_COMMENT).build()));
     }
 
     @Operation(summary = "Get task by ID",
+            description = "Fields limits the returned properties, ETag is only sent when version is one of them",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Task with specified ID or empty when task not found",
+                    @ApiResponse(responseCode = "200", description = "Task with specified ID and its version as ETag or empty when task not found",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = TaskDto.class))),
-                    @ApiResponse(responseCode = "400", description = "ID cannot be empty", content = @Content(mediaType = "application/json",
+                    @ApiResponse(responseCode = "304", description = "Task version matches If-None-Match", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "ID cannot be empty or invalid fields", content = @Content(mediaType = "application/json",
                             schema = @Schema(hidden = true)))})
     @GetMapping("/{id}")
-    public Mono<TaskDto> getTaskById(@PathVariable String id) {
-        return taskService.getTaskById(id);
+    public Mono<ResponseEntity<TaskDto>> getTaskById(@PathVariable String id, @RequestParam(required = false) String fields) {
+        return taskService.getTaskById(null, id, fields)
+                .map(this::withETag)
+                .defaultIfEmpty(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).build());
     }
 
     @Operation(summary = "Update existing task",
@@ -57,12 +168,33 @@ public class TaskController {
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = TaskDto.class))),
                     @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
-                            schema = @Schema(hidden = true))),
+                            schema = @Schema(implementation = TaskValidationErrorDto.class))),
                     @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
                             schema = @Schema(hidden = true)))})
     @PutMapping("/{id}")
-    public Mono<TaskDto> updateTaskById(@PathVariable String id, @RequestBody TaskDto taskDto) {
-        return taskService.updateTaskById(id, taskDto);
+    public Mono<ResponseEntity<TaskDto>> updateTaskById(@PathVariable String id, @RequestBody TaskDto taskDto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTaskById(null, id, taskDto, TaskETag.parseVersion(ifMatch)).map(this::withETag);
+    }
+
+    @Operation(summary = "Update chosen fields of existing task",
+            description = "Only fields present in the request are changed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task updated",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskValidationErrorDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<TaskDto>> patchTaskById(@PathVariable String id, @RequestBody TaskPatchDto taskPatchDto,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.patchTaskById(null, id, taskPatchDto, TaskETag.parseVersion(ifMatch)).map(this::withETag);
     }
 
     @Operation(summary = "Delete task by ID",
@@ -73,10 +205,24 @@ public class TaskController {
                     @ApiResponse(responseCode = "400", description = "ID cannot be empty", content = @Content(mediaType = "application/json",
                             schema = @Schema(hidden = true))),
                     @ApiResponse(responseCode = "404", description = "Task do not exist", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
                             schema = @Schema(hidden = true)))})
     @DeleteMapping("/{id}")
-    public Mono<Void> deleteTaskById(@PathVariable String id) {
-        return taskService.deleteTaskById(id);
+    public Mono<Void> deleteTaskById(@PathVariable String id,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.deleteTaskById(null, id, TaskETag.parseVersion(ifMatch));
+    }
+
+    private <T> ResponseEntity<T> withCollectionETag(String listId, ServerHttpRequest request, T body) {
+        return ResponseEntity.ok()
+                .eTag(TaskETag.ofCollection(taskCollectionVersion.getVersion(listId), request))
+                .lastModified(taskCollectionVersion.getLastModified(listId))
+                .body(body);
+    }
+
+    private ResponseEntity<TaskDto> withETag(TaskDto taskDto) {
+        return ResponseEntity.ok().eTag(TaskETag.of(taskDto.getVersion())).body(taskDto);
     }
 
 }
@@ -0,0 +1,37 @@
+package com.example.todolist.rest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+final class TaskETag {
+    private static final String ANY = "*";
+
+    private TaskETag() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : version.toString();
+    }
+
+    static String ofCollection(long collectionVersion, ServerHttpRequest request) {
+        var variant = request.getURI().getRawPath() + "?" + request.getURI().getRawQuery() + " " + request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return collectionVersion + "-" + Integer.toHexString(variant.hashCode());
+    }
+
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        var eTag = ifMatch.trim();
+        if (eTag.length() > 1 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            eTag = eTag.substring(1, eTag.length() - 1);
+        }
+        try {
+            return Long.parseLong(eTag);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task was modified");
+        }
+    }
+}
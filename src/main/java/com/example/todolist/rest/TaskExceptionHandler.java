@@ -0,0 +1,19 @@
+package com.example.todolist.rest;
+
+import com.example.todolist.dto.TaskValidationErrorDto;
+import com.example.todolist.service.TaskValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class TaskExceptionHandler {
+
+    @ExceptionHandler(TaskValidationException.class)
+    public ResponseEntity<TaskValidationErrorDto> handleValidation(TaskValidationException exception) {
+        var status = HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status)
+                .body(new TaskValidationErrorDto(status.value(), status.getReasonPhrase(), exception.getReason(), exception.getErrors()));
+    }
+}
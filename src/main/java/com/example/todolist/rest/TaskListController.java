@@ -0,0 +1,197 @@
+package com.example.todolist.rest;
+
+import com.example.todolist.config.CodecConfig;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.dto.TaskValidationErrorDto;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.service.TaskCollectionVersion;
+import com.example.todolist.service.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/lists/{listId}/tasks")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class TaskListController {
+
+    private static final String SUBSCRIBED_COMMENT = "subscribed";
+
+    TaskService taskService;
+    TaskCollectionVersion taskCollectionVersion;
+
+    @Operation(summary = "Create new task in list",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Created task",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskValidationErrorDto.class))),
+                    @ApiResponse(responseCode = "403", description = "List already has the maximum number of tasks", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @PostMapping
+    public Mono<TaskDto> createTask(@PathVariable String listId, @RequestBody TaskDto taskDto) {
+        return taskService.createTask(listId, taskDto);
+    }
+
+    @Operation(summary = "Get all tasks in list",
+            description = "Accepts the same filters, sort and fields as the list of all tasks, only tasks of the list are returned",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks with ETag and Last-Modified of the collection"),
+                    @ApiResponse(responseCode = "304", description = "No task was written since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true)))})
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+            CodecConfig.APPLICATION_SMILE_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
+    public ResponseEntity<Flux<TaskDto>> getAllTasks(@PathVariable String listId,
+                                                     @RequestParam(required = false) TaskStatus status,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String fields,
+                                                     @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                     ServerHttpRequest request) {
+        return withCollectionETag(listId, request, taskService.getAllTasks(listId, status, createdFrom, createdTo, sort, fields, includeArchived));
+    }
+
+    @Operation(summary = "Get page of tasks in list ordered by creation date",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of tasks with cursor of the next page, cursor is empty on the last page",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskPageDto.class))),
+                    @ApiResponse(responseCode = "304", description = "No task was written since the ETag in If-None-Match", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid list ID, limit, cursor or fields", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping(params = "limit")
+    public ResponseEntity<Mono<TaskPageDto>> getTasksPage(@PathVariable String listId, @RequestParam int limit, @RequestParam(required = false) String after,
+                                                          @RequestParam(required = false) TaskStatus status,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                          @RequestParam(required = false) String sort,
+                                                          @RequestParam(required = false) String fields,
+                                                          ServerHttpRequest request) {
+        return withCollectionETag(listId, request, taskService.getTasksPage(listId, limit, after, status, createdFrom, createdTo, sort, fields));
+    }
+
+    @Operation(summary = "Suggest tasks in list by title prefix",
+            description = "Case insensitive title prefix search served from an in-memory index, tasks are ordered by title",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Up to limit tasks of the list with title starting with prefix",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskSuggestionDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid list ID, empty prefix or limit out of range", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping("/suggest")
+    public Flux<TaskSuggestionDto> suggestTasks(@PathVariable String listId, @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return taskService.suggestTasks(listId, prefix, limit);
+    }
+
+    @Operation(summary = "Subscribe to task changes in list",
+            description = "Server-Sent Events of created, updated and deleted tasks of the list, deleted events are sent regardless of the status filter")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEventDto>> getTaskEvents(@PathVariable String listId, @RequestParam(required = false) TaskStatus status) {
+        return taskService.getTaskEvents(listId, status)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name())
+                        .build())
+                .mergeWith(Mono.just(ServerSentEvent.<TaskEventDto>builder().comment(SUBSCRIBED_COMMENT).build()));
+    }
+
+    @Operation(summary = "Get task in list by ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task with specified ID and its version as ETag or empty when task not found in list",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDto.class))),
+                    @ApiResponse(responseCode = "304", description = "Task version matches If-None-Match", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid list ID or fields", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskDto>> getTaskById(@PathVariable String listId, @PathVariable String id,
+                                                     @RequestParam(required = false) String fields) {
+        return taskService.getTaskById(listId, id, fields)
+                .map(this::withETag)
+                .defaultIfEmpty(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).build());
+    }
+
+    @Operation(summary = "Update existing task in list",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task updated",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskValidationErrorDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Task not found in list", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskDto>> updateTaskById(@PathVariable String listId, @PathVariable String id, @RequestBody TaskDto taskDto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTaskById(listId, id, taskDto, TaskETag.parseVersion(ifMatch)).map(this::withETag);
+    }
+
+    @Operation(summary = "Update chosen fields of existing task in list",
+            description = "Only fields present in the request are changed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task updated",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Problem with data validation", content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskValidationErrorDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Task not found in list", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<TaskDto>> patchTaskById(@PathVariable String listId, @PathVariable String id, @RequestBody TaskPatchDto taskPatchDto,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.patchTaskById(listId, id, taskPatchDto, TaskETag.parseVersion(ifMatch)).map(this::withETag);
+    }
+
+    @Operation(summary = "Delete task in list by ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task deleted",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "400", description = "Invalid list ID", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "404", description = "Task do not exist in list", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "412", description = "Task version does not match If-Match", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteTaskById(@PathVariable String listId, @PathVariable String id,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.deleteTaskById(listId, id, TaskETag.parseVersion(ifMatch));
+    }
+
+    private <T> ResponseEntity<T> withCollectionETag(String listId, ServerHttpRequest request, T body) {
+        return ResponseEntity.ok()
+                .eTag(TaskETag.ofCollection(taskCollectionVersion.getVersion(listId), request))
+                .lastModified(taskCollectionVersion.getLastModified(listId))
+                .body(body);
+    }
+
+    private ResponseEntity<TaskDto> withETag(TaskDto taskDto) {
+        return ResponseEntity.ok().eTag(TaskETag.of(taskDto.getVersion())).body(taskDto);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.example.todolist.rest;
+
+import com.example.todolist.dto.TaskImportProgressDto;
+import com.example.todolist.service.TaskExporter;
+import com.example.todolist.service.TaskImporter;
+import com.example.todolist.service.TaskTransferFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/tasks")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class TaskTransferController {
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    TaskExporter taskExporter;
+    TaskImporter taskImporter;
+
+    @Operation(summary = "Export all tasks ordered by ID",
+            description = "Streams tasks as NDJSON or CSV, optionally gzip compressed. An interrupted export is resumed by passing the last received ID as after",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exported tasks", content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/gzip")}),
+                    @ApiResponse(responseCode = "400", description = "Unknown format", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @GetMapping("/export")
+    public Mono<Void> exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                  @RequestParam(defaultValue = "false") boolean gzip,
+                                  @RequestParam(required = false) String after,
+                                  @RequestParam(defaultValue = "false") boolean includeArchived,
+                                  ServerHttpResponse response) {
+        var transferFormat = TaskTransferFormat.parse(format);
+        var headers = response.getHeaders();
+        headers.setContentType(gzip ? APPLICATION_GZIP : transferFormat.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("tasks." + transferFormat.getExtension() + (gzip ? ".gz" : ""))
+                .build());
+        return response.writeWith(taskExporter.exportTasks(transferFormat, gzip, after, includeArchived, response.bufferFactory()));
+    }
+
+    @Operation(summary = "Import tasks from NDJSON or CSV",
+            description = "Tasks keep their IDs and lists and are validated like created tasks. Each imported batch reports progress, "
+                    + "an interrupted import is resumed by sending the same file with skip set to the last processed count",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Progress after each batch with the records that failed",
+                            content = @Content(mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = TaskImportProgressDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Unknown format, unreadable upload or CSV header", content = @Content(mediaType = "application/json",
+                            schema = @Schema(hidden = true)))})
+    @PostMapping(value = "/import", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TaskImportProgressDto> importTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                                   @RequestParam(defaultValue = "false") boolean gzip,
+                                                   @RequestParam(defaultValue = "0") long skip,
+                                                   ServerHttpRequest request) {
+        return taskImporter.importTasks(request.getBody(), TaskTransferFormat.parse(format), gzip, skip);
+    }
+}
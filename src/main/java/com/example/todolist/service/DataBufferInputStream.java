@@ -0,0 +1,120 @@
+package com.example.todolist.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class DataBufferInputStream extends InputStream implements Subscriber<DataBuffer> {
+    private static final DataBuffer END = DefaultDataBufferFactory.sharedInstance.allocateBuffer(0);
+
+    BlockingQueue<DataBuffer> queue = new LinkedBlockingQueue<>();
+    int prefetch;
+
+    @NonFinal
+    volatile Subscription subscription;
+
+    @NonFinal
+    volatile Throwable error;
+
+    @NonFinal
+    volatile boolean closed;
+
+    @NonFinal
+    DataBuffer current;
+
+    DataBufferInputStream(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(DataBuffer buffer) {
+        if (closed) {
+            DataBufferUtils.release(buffer);
+            return;
+        }
+        queue.add(buffer);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        queue.add(END);
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(END);
+    }
+
+    @Override
+    public int read() throws IOException {
+        var single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (current == null || current.readableByteCount() == 0) {
+            if (current == END) {
+                return -1;
+            }
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+                subscription.request(1);
+            }
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for upload");
+            }
+            if (current == END && error != null) {
+                throw new IOException("Upload failed", error);
+            }
+        }
+        var count = Math.min(length, current.readableByteCount());
+        current.read(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        var upload = subscription;
+        if (upload != null) {
+            upload.cancel();
+        }
+        if (current != null && current != END) {
+            DataBufferUtils.release(current);
+        }
+        current = END;
+        DataBuffer buffer;
+        while ((buffer = queue.poll()) != null) {
+            if (buffer != END) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskArchiver {
+    TaskRepository taskRepository;
+    TaskProperties.Archive properties;
+    TaskCache taskCache;
+    TaskTitleIndex taskTitleIndex;
+    TaskListQuota taskListQuota;
+    TaskCollectionVersion taskCollectionVersion;
+    Counter archived;
+    Clock clock;
+
+    @Autowired
+    public TaskArchiver(TaskRepository taskRepository, TaskProperties taskProperties, TaskCache taskCache, TaskTitleIndex taskTitleIndex,
+                        TaskListQuota taskListQuota, TaskCollectionVersion taskCollectionVersion, MeterRegistry meterRegistry) {
+        this(taskRepository, taskProperties, taskCache, taskTitleIndex, taskListQuota, taskCollectionVersion, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskArchiver(TaskRepository taskRepository, TaskProperties taskProperties, TaskCache taskCache, TaskTitleIndex taskTitleIndex,
+                 TaskListQuota taskListQuota, TaskCollectionVersion taskCollectionVersion, MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.properties = taskProperties.getArchive();
+        this.taskCache = taskCache;
+        this.taskTitleIndex = taskTitleIndex;
+        this.taskListQuota = taskListQuota;
+        this.taskCollectionVersion = taskCollectionVersion;
+        this.archived = Counter.builder("tasks.archived")
+                .description("Number of finished tasks moved to the archive")
+                .register(meterRegistry);
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public Mono<Void> createArchiveIndexes() {
+        return taskRepository.createArchiveIndexes();
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.archive.interval:PT1M}")
+    public Mono<Void> archiveFinishedTasks() {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        var batchSize = properties.getBatchSize();
+        var pause = Duration.ofMillis(batchSize * 1000L / properties.getMaxTasksPerSecond());
+        return Mono.defer(() -> {
+            var createdBefore = LocalDateTime.now(clock).minus(properties.getAge());
+            return Flux.range(0, properties.getMaxBatchesPerRun())
+                    .concatMap(batch -> batch == 0
+                            ? archiveBatch(createdBefore, batchSize)
+                            : Mono.delay(pause).then(archiveBatch(createdBefore, batchSize)))
+                    .takeUntil(selected -> selected < batchSize)
+                    .then();
+        });
+    }
+
+    private Mono<Integer> archiveBatch(LocalDateTime createdBefore, int batchSize) {
+        return taskRepository.findArchivable(createdBefore, batchSize)
+                .collectList()
+                .flatMap(tasks -> tasks.isEmpty()
+                        ? Mono.just(0)
+                        : taskRepository.archive(tasks)
+                        .doFinally(signal -> tasks.stream().map(Task::getListId).distinct().forEach(taskCollectionVersion::changed))
+                        .doOnNext(ids -> {
+                            var listIds = new HashMap<String, String>();
+                            tasks.forEach(task -> listIds.put(task.getId(), task.getListId()));
+                            ids.forEach(id -> {
+                                taskCache.invalidate(id);
+                                taskTitleIndex.remove(id);
+                                taskListQuota.release(listIds.get(id));
+                            });
+                            archived.increment(ids.size());
+                        })
+                        .thenReturn(tasks.size()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskCache {
+    boolean enabled;
+    AsyncCache<String, Task> cache;
+
+    public TaskCache(TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        var properties = taskProperties.getCache();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks");
+    }
+
+    public Mono<Task> get(String id, Function<String, Mono<Task>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    public Mono<Task> getIfPresent(String id) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(cache.getIfPresent(id)).flatMap(future -> Mono.fromFuture(future, true));
+    }
+
+    public void put(Task task) {
+        if (enabled) {
+            cache.put(task.getId(), CompletableFuture.completedFuture(task));
+        }
+    }
+
+    public void invalidate(String id) {
+        if (enabled) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+}
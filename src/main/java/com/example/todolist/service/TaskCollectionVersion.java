@@ -0,0 +1,104 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskCollectionVersion {
+    TaskRepository taskRepository;
+    TaskProperties.CollectionVersion properties;
+    Clock clock;
+    AtomicLongArray versions;
+    AtomicLongArray lastModified;
+
+    @NonFinal
+    Disposable watch;
+
+    @Autowired
+    public TaskCollectionVersion(TaskRepository taskRepository, TaskProperties taskProperties) {
+        this(taskRepository, taskProperties, Clock.systemUTC());
+    }
+
+    TaskCollectionVersion(TaskRepository taskRepository, TaskProperties taskProperties, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.properties = taskProperties.getCollectionVersion();
+        this.clock = clock;
+        this.versions = new AtomicLongArray(properties.getStripes() + 1);
+        this.lastModified = new AtomicLongArray(properties.getStripes() + 1);
+        var now = clock.millis();
+        for (int i = 0; i < versions.length(); i++) {
+            versions.set(i, now);
+            lastModified.set(i, now);
+        }
+    }
+
+    public void changed(String listId) {
+        var now = clock.millis();
+        if (listId != null) {
+            changed(stripe(listId), now);
+        }
+        changed(global(), now);
+    }
+
+    public void changedAll() {
+        var now = clock.millis();
+        for (int i = 0; i < versions.length(); i++) {
+            changed(i, now);
+        }
+    }
+
+    public long getVersion(String listId) {
+        return versions.get(stripe(listId));
+    }
+
+    public Instant getLastModified(String listId) {
+        return Instant.ofEpochMilli(lastModified.get(stripe(listId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void watchChanges() {
+        if (!properties.isWatchChanges()) {
+            return;
+        }
+        watch = Flux.defer(taskRepository::watchChangedLists)
+                .doOnSubscribe(subscription -> changedAll())
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getWatchRetry()))
+                .subscribe(listId -> listId.ifPresentOrElse(this::changed, this::changedAll));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (watch != null) {
+            watch.dispose();
+        }
+    }
+
+    private void changed(int stripe, long now) {
+        versions.getAndUpdate(stripe, version -> Math.max(version + 1, now));
+        lastModified.accumulateAndGet(stripe, now, Math::max);
+    }
+
+    private int stripe(String listId) {
+        return listId == null ? global() : Math.floorMod(listId.hashCode(), global());
+    }
+
+    private int global() {
+        return versions.length() - 1;
+    }
+}
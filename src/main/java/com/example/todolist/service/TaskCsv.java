@@ -0,0 +1,126 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class TaskCsv {
+    static final List<String> COLUMNS = List.of("id", "title", "description", "creationDate", "taskStatus", "version", "listId");
+    static final String HEADER = String.join(",", COLUMNS) + "\n";
+
+    private TaskCsv() {
+    }
+
+    static void write(TaskDto taskDto, StringBuilder line) {
+        field(line, taskDto.getId()).append(',');
+        field(line, taskDto.getTitle()).append(',');
+        field(line, taskDto.getDescription()).append(',');
+        field(line, taskDto.getCreationDate()).append(',');
+        field(line, taskDto.getTaskStatus()).append(',');
+        field(line, taskDto.getVersion()).append(',');
+        field(line, taskDto.getListId()).append('\n');
+    }
+
+    private static StringBuilder field(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        var text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    static List<String> readRecord(Reader reader, int maxLength) throws IOException {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        var length = 0L;
+        int c;
+        while ((c = reader.read()) >= 0) {
+            if (++length > maxLength) {
+                field.setLength(0);
+                fields.clear();
+            }
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    field.append('"');
+                } else {
+                    reader.reset();
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        if (length > maxLength) {
+            throw new IllegalArgumentException(recordTooLong(maxLength));
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String recordTooLong(int maxLength) {
+        return "Record exceeds " + maxLength + " characters";
+    }
+
+    static Map<String, Integer> columns(List<String> header) {
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++) {
+            var column = header.get(i).trim();
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column " + column);
+            }
+            columns.put(column, i);
+        }
+        return columns;
+    }
+
+    static TaskDto toTaskDto(List<String> fields, Map<String, Integer> columns) {
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        var creationDate = value(fields, columns, "creationDate");
+        var taskStatus = value(fields, columns, "taskStatus");
+        var version = value(fields, columns, "version");
+        return new TaskDto(value(fields, columns, "id"), value(fields, columns, "title"), value(fields, columns, "description"),
+                creationDate == null ? null : LocalDateTime.parse(creationDate),
+                taskStatus == null ? null : TaskStatus.valueOf(taskStatus),
+                version == null ? null : Long.valueOf(version),
+                value(fields, columns, "listId"));
+    }
+
+    private static String value(List<String> fields, Map<String, Integer> columns, String column) {
+        var index = columns.get(column);
+        if (index == null || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+}
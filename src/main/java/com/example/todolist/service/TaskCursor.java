@@ -0,0 +1,44 @@
+package com.example.todolist.service;
+
+import com.example.todolist.entity.Task;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskCursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime creationDate;
+    String id;
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getCreationDate(), task.getId());
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            return new TaskCursor(LocalDateTime.parse(value.substring(0, separatorIndex)), value.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        var value = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskEventPublisher {
+    Sinks.Many<TaskEventDto> sink = Sinks.unsafe().many().multicast().directBestEffort();
+    TaskProperties.Events properties;
+    Counter droppedEvents;
+
+    public TaskEventPublisher(TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        this.properties = taskProperties.getEvents();
+        this.droppedEvents = meterRegistry.counter("tasks.events.dropped");
+        meterRegistry.gauge("tasks.events.subscribers", sink, Sinks.Many::currentSubscriberCount);
+    }
+
+    public void publish(TaskEventDto event) {
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(event);
+        }
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            droppedEvents.increment();
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return sink.currentSubscriberCount() > 0;
+    }
+
+    public Flux<TaskEventDto> events() {
+        var strategy = properties.getOverflow() == TaskProperties.Events.Overflow.DROP_OLDEST
+                ? BufferOverflowStrategy.DROP_OLDEST
+                : BufferOverflowStrategy.ERROR;
+        return sink.asFlux().onBackpressureBuffer(properties.getBufferSize(), event -> droppedEvents.increment(), strategy);
+    }
+}
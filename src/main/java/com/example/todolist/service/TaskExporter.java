@@ -0,0 +1,130 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskExporter {
+    TaskRepository taskRepository;
+    TaskMapper taskMapper;
+    TaskProperties taskProperties;
+    ObjectWriter jsonWriter;
+
+    public TaskExporter(TaskRepository taskRepository, TaskMapper taskMapper, TaskProperties taskProperties, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.taskProperties = taskProperties;
+        this.jsonWriter = objectMapper.copy().setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(TaskDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public Flux<DataBuffer> exportTasks(TaskTransferFormat format, boolean gzip, String after, boolean includeArchived,
+                                        DataBufferFactory bufferFactory) {
+        var chunkSize = Math.toIntExact(taskProperties.getTransfer().getExportChunkSize().toBytes());
+        return Flux.using(() -> new ChunkWriter(format, gzip, chunkSize),
+                writer -> tasks(after, includeArchived)
+                        .limitRate(taskProperties.getStream().getPrefetch())
+                        .<DataBuffer>handle((task, sink) -> {
+                            writer.write(taskMapper.taskToTaskDto(task));
+                            if (writer.isFull()) {
+                                sink.next(bufferFactory.wrap(writer.drain()));
+                            }
+                        })
+                        .concatWith(Mono.fromSupplier(writer::finish)
+                                .filter(bytes -> bytes.length > 0)
+                                .map(bufferFactory::wrap)),
+                ChunkWriter::close);
+    }
+
+    private Flux<Task> tasks(String after, boolean includeArchived) {
+        var cursorBatchSize = taskProperties.getStream().getCursorBatchSize();
+        if (!includeArchived) {
+            return taskRepository.streamAfterId(after, cursorBatchSize);
+        }
+        return Flux.mergeComparing(Comparator.comparing(Task::getId),
+                taskRepository.streamAfterId(after, cursorBatchSize),
+                taskRepository.streamArchivedAfterId(after, cursorBatchSize));
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private final class ChunkWriter {
+        TaskTransferFormat format;
+        int chunkSize;
+        ByteArrayOutputStream chunk;
+        OutputStream output;
+        StringBuilder line = new StringBuilder();
+
+        ChunkWriter(TaskTransferFormat format, boolean gzip, int chunkSize) throws IOException {
+            this.format = format;
+            this.chunkSize = chunkSize;
+            this.chunk = new ByteArrayOutputStream(chunkSize + chunkSize / 4);
+            this.output = gzip ? new GZIPOutputStream(chunk) : chunk;
+            if (format == TaskTransferFormat.CSV) {
+                output.write(TaskCsv.HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void write(TaskDto taskDto) {
+            try {
+                if (format == TaskTransferFormat.CSV) {
+                    line.setLength(0);
+                    TaskCsv.write(taskDto, line);
+                    output.write(line.toString().getBytes(StandardCharsets.UTF_8));
+                } else {
+                    jsonWriter.writeValue(output, taskDto);
+                    output.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean isFull() {
+            return chunk.size() >= chunkSize;
+        }
+
+        byte[] drain() {
+            var bytes = chunk.toByteArray();
+            chunk.reset();
+            return bytes;
+        }
+
+        byte[] finish() {
+            try {
+                output.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return drain();
+        }
+
+        void close() {
+            try {
+                output.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
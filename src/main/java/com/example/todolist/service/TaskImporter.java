@@ -0,0 +1,325 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskBulkResultDto;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskImportProgressDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskImporter {
+    private static final String LIST_FULL = "List is full";
+
+    TaskRepository taskRepository;
+    TaskMapper taskMapper;
+    TaskValidator taskValidator;
+    TaskMetrics taskMetrics;
+    TaskStatistics taskStatistics;
+    TaskTitleIndex taskTitleIndex;
+    TaskListQuota taskListQuota;
+    TaskCollectionVersion taskCollectionVersion;
+    TaskEventPublisher taskEventPublisher;
+    TaskProperties taskProperties;
+    ObjectReader jsonReader;
+
+    public TaskImporter(TaskRepository taskRepository, TaskMapper taskMapper, TaskValidator taskValidator, TaskMetrics taskMetrics,
+                        TaskStatistics taskStatistics, TaskTitleIndex taskTitleIndex, TaskListQuota taskListQuota,
+                        TaskCollectionVersion taskCollectionVersion, TaskEventPublisher taskEventPublisher, TaskProperties taskProperties,
+                        ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.taskValidator = taskValidator;
+        this.taskMetrics = taskMetrics;
+        this.taskStatistics = taskStatistics;
+        this.taskTitleIndex = taskTitleIndex;
+        this.taskListQuota = taskListQuota;
+        this.taskCollectionVersion = taskCollectionVersion;
+        this.taskEventPublisher = taskEventPublisher;
+        this.taskProperties = taskProperties;
+        this.jsonReader = objectMapper.readerFor(TaskDto.class);
+    }
+
+    public Flux<TaskImportProgressDto> importTasks(Flux<DataBuffer> body, TaskTransferFormat format, boolean gzip, long skip) {
+        if (skip < 0) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Skip cannot be negative"));
+        }
+        var transfer = taskProperties.getTransfer();
+        var progress = new Progress(skip);
+        return Flux.using(() -> reader(body, gzip, transfer.getImportPrefetch()),
+                        reader -> Flux.generate(() -> new Parser(reader, format, (int) transfer.getImportMaxRecordSize().toBytes()), this::parse),
+                        this::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(UncheckedIOException.class,
+                        error -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot read upload", error))
+                .filter(record -> record.getIndex() >= skip)
+                .buffer(transfer.getImportBatchSize())
+                .concatMap(batch -> importBatch(batch, progress), 1)
+                .switchIfEmpty(Mono.fromSupplier(progress::snapshot));
+    }
+
+    private BufferedReader reader(Flux<DataBuffer> body, boolean gzip, int prefetch) throws IOException {
+        var upload = new DataBufferInputStream(prefetch);
+        body.subscribe(upload);
+        try {
+            InputStream input = gzip ? new GZIPInputStream(upload) : upload;
+            return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            upload.close();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload is not gzip compressed", e);
+        }
+    }
+
+    private void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private Parser parse(Parser parser, SynchronousSink<ImportRecord> sink) {
+        try {
+            var record = parser.next();
+            if (record == null) {
+                sink.complete();
+            } else {
+                sink.next(record);
+            }
+        } catch (IOException e) {
+            sink.error(new UncheckedIOException(e));
+        }
+        return parser;
+    }
+
+    private Mono<TaskImportProgressDto> importBatch(List<ImportRecord> batch, Progress progress) {
+        var errors = new ArrayList<TaskBulkResultDto>();
+        var indexes = new ArrayList<Long>();
+        var tasks = new ArrayList<Task>();
+        for (var record : batch) {
+            var error = record.getError() != null ? record.getError() : validationError(record.getTaskDto());
+            if (error != null) {
+                errors.add(TaskBulkResultDto.failed(record.getIndex(), error));
+            } else {
+                var task = taskMetrics.getMapping().record(() -> taskMapper.taskDtoToTask(record.getTaskDto()));
+                task.setVersion(null);
+                indexes.add(record.getIndex());
+                tasks.add(task);
+            }
+        }
+        var last = batch.get(batch.size() - 1).getIndex();
+        return Flux.range(0, tasks.size())
+                .concatMap(i -> acquire(tasks.get(i)))
+                .collectList()
+                .flatMap(acquired -> insert(tasks, indexes, acquired, errors))
+                .map(imported -> progress.add(last + 1, imported, errors));
+    }
+
+    private Mono<Boolean> acquire(Task task) {
+        if (task.getListId() == null) {
+            return Mono.just(true);
+        }
+        return taskListQuota.acquire(task.getListId())
+                .thenReturn(true)
+                .onErrorReturn(ResponseStatusException.class, false);
+    }
+
+    private Mono<Integer> insert(List<Task> tasks, List<Long> indexes, List<Boolean> acquired, List<TaskBulkResultDto> errors) {
+        var insertable = new ArrayList<Task>();
+        var insertableIndexes = new ArrayList<Long>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (acquired.get(i)) {
+                insertable.add(tasks.get(i));
+                insertableIndexes.add(indexes.get(i));
+            } else {
+                errors.add(TaskBulkResultDto.failed(indexes.get(i), LIST_FULL));
+            }
+        }
+        if (insertable.isEmpty()) {
+            return Mono.just(0);
+        }
+        return taskRepository.insertAll(insertable, false)
+                .doFinally(signal -> insertable.stream().map(Task::getListId).distinct().forEach(taskCollectionVersion::changed))
+                .map(writeErrors -> written(insertable, insertableIndexes, writeErrors, errors))
+                .doOnError(error -> insertable.forEach(task -> taskListQuota.release(task.getListId())));
+    }
+
+    private int written(List<Task> tasks, List<Long> indexes, Map<Integer, String> writeErrors, List<TaskBulkResultDto> errors) {
+        var imported = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            var error = writeErrors.get(i);
+            if (error != null) {
+                taskListQuota.release(tasks.get(i).getListId());
+                errors.add(TaskBulkResultDto.failed(indexes.get(i), error));
+            } else {
+                var task = tasks.get(i);
+                taskStatistics.created(task);
+                taskTitleIndex.put(task);
+                if (taskEventPublisher.hasSubscribers()) {
+                    taskEventPublisher.publish(TaskEventDto.created(taskMetrics.getMapping().record(() -> taskMapper.taskToTaskDto(task))));
+                }
+                imported++;
+            }
+        }
+        return imported;
+    }
+
+    private String validationError(TaskDto taskDto) {
+        if (TaskService.isInvalidListId(taskDto.getListId())) {
+            return "List ID must be 1 to 64 letters, digits, - or _";
+        }
+        var errors = taskMetrics.getValidation().record(() -> taskValidator.validate(taskDto));
+        return errors.isEmpty() ? null : TaskValidationException.message(errors);
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private final class Parser {
+        BufferedReader reader;
+        TaskTransferFormat format;
+        int maxRecordLength;
+
+        @NonFinal
+        Map<String, Integer> columns;
+
+        @NonFinal
+        long index;
+
+        Parser(BufferedReader reader, TaskTransferFormat format, int maxRecordLength) {
+            this.reader = reader;
+            this.format = format;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        ImportRecord next() throws IOException {
+            return format == TaskTransferFormat.CSV ? nextCsv() : nextJson();
+        }
+
+        private ImportRecord nextJson() throws IOException {
+            String line;
+            try {
+                do {
+                    line = readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                } while (line.isBlank());
+            } catch (IllegalArgumentException e) {
+                return new ImportRecord(index++, null, e.getMessage());
+            }
+            var recordIndex = index++;
+            try {
+                return new ImportRecord(recordIndex, jsonReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRecord(recordIndex, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        private ImportRecord nextCsv() throws IOException {
+            if (columns == null) {
+                List<String> header;
+                try {
+                    header = TaskCsv.readRecord(reader, maxRecordLength);
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+                if (header == null) {
+                    return null;
+                }
+                try {
+                    columns = TaskCsv.columns(header);
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+            }
+            List<String> fields;
+            try {
+                do {
+                    fields = TaskCsv.readRecord(reader, maxRecordLength);
+                    if (fields == null) {
+                        return null;
+                    }
+                } while (fields.size() == 1 && fields.get(0).isBlank());
+            } catch (IllegalArgumentException e) {
+                return new ImportRecord(index++, null, e.getMessage());
+            }
+            var recordIndex = index++;
+            try {
+                return new ImportRecord(recordIndex, TaskCsv.toTaskDto(fields, columns), null);
+            } catch (RuntimeException e) {
+                return new ImportRecord(recordIndex, null, "Invalid CSV record: " + e.getMessage());
+            }
+        }
+
+        private String readLine() throws IOException {
+            var line = new StringBuilder();
+            var length = 0L;
+            int c;
+            while ((c = reader.read()) >= 0 && c != '\n') {
+                if (++length <= maxRecordLength) {
+                    line.append((char) c);
+                }
+            }
+            if (length > maxRecordLength) {
+                throw new IllegalArgumentException(TaskCsv.recordTooLong(maxRecordLength));
+            }
+            return c < 0 && length == 0 ? null : line.toString();
+        }
+    }
+
+    @Getter
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @RequiredArgsConstructor
+    private static final class ImportRecord {
+        long index;
+        TaskDto taskDto;
+        String error;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @RequiredArgsConstructor
+    private static final class Progress {
+        final long skip;
+        long processed;
+        long imported;
+        long failed;
+
+        TaskImportProgressDto add(long next, int batchImported, List<TaskBulkResultDto> errors) {
+            processed = next;
+            imported += batchImported;
+            failed += errors.size();
+            return new TaskImportProgressDto(processed, imported, failed, errors);
+        }
+
+        TaskImportProgressDto snapshot() {
+            return new TaskImportProgressDto(Math.max(processed, skip), imported, failed, List.of());
+        }
+    }
+}
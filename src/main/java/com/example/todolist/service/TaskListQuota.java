@@ -0,0 +1,56 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskListQuota {
+    TaskRepository taskRepository;
+    long maxTasks;
+    AsyncCache<String, AtomicLong> counts;
+
+    public TaskListQuota(TaskRepository taskRepository, TaskProperties taskProperties) {
+        var properties = taskProperties.getLists();
+        this.taskRepository = taskRepository;
+        this.maxTasks = properties.getMaxTasks();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumCachedCounts())
+                .expireAfterWrite(properties.getCountTimeToLive())
+                .buildAsync();
+    }
+
+    public Mono<Void> acquire(String listId) {
+        return Mono.fromFuture(() -> counts.get(listId, (key, executor) -> taskRepository.countByListId(key).map(AtomicLong::new).toFuture()), true)
+                .flatMap(count -> {
+                    var current = count.get();
+                    while (current < maxTasks) {
+                        if (count.compareAndSet(current, current + 1)) {
+                            return Mono.empty();
+                        }
+                        current = count.get();
+                    }
+                    return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "List cannot have more than " + maxTasks + " tasks"));
+                });
+    }
+
+    public void release(String listId) {
+        if (listId == null) {
+            return;
+        }
+        var count = counts.getIfPresent(listId);
+        if (count != null && count.isDone() && !count.isCompletedExceptionally()) {
+            count.join().updateAndGet(current -> Math.max(current - 1, 0));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.todolist.service;
 
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskPatchDto;
 import com.example.todolist.entity.Task;
 import org.springframework.stereotype.Component;
 
@@ -8,10 +9,14 @@ import org.springframework.stereotype.Component;
 public class TaskMapper {
 
     public TaskDto taskToTaskDto(Task task) {
-        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getCreationDate(), task.getTaskStatus());
+        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getCreationDate(), task.getTaskStatus(), task.getVersion(), task.getListId());
     }
 
     public Task taskDtoToTask(TaskDto taskDto) {
-        return new Task(taskDto.getId(), taskDto.getTitle(), taskDto.getDescription(), taskDto.getCreationDate(), taskDto.getTaskStatus());
+        return new Task(taskDto.getId(), taskDto.getTitle(), taskDto.getDescription(), taskDto.getCreationDate(), taskDto.getTaskStatus(), taskDto.getVersion(), taskDto.getListId());
+    }
+
+    public Task taskPatchDtoToTask(String id, TaskPatchDto taskPatchDto) {
+        return new Task(id, taskPatchDto.getTitle(), taskPatchDto.getDescription(), taskPatchDto.getCreationDate(), taskPatchDto.getTaskStatus(), null, null);
     }
 }
@@ -0,0 +1,33 @@
+package com.example.todolist.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskMetrics {
+    public static final String STAGE_TIMER = "tasks.stage";
+
+    Timer validation;
+    Timer mapping;
+    Timer encoding;
+
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        this.validation = stageTimer(meterRegistry, "validation");
+        this.mapping = stageTimer(meterRegistry, "mapping");
+        this.encoding = stageTimer(meterRegistry, "encoding");
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in a stage of task request processing")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
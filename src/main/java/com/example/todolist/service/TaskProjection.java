@@ -0,0 +1,67 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.ProjectedTaskDto;
+import com.example.todolist.dto.TaskDto;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskProjection {
+    public static final TaskProjection ALL = new TaskProjection(null);
+    private static final List<String> FIELDS = List.of("id", "title", "description", "creationDate", "taskStatus", "version", "listId");
+
+    Set<String> fields;
+
+    public static TaskProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        var selected = new LinkedHashSet<String>();
+        for (var field : fields.split(",")) {
+            var name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields must be a comma separated list of " + String.join(", ", FIELDS));
+            }
+            selected.add(name);
+        }
+        return selected.size() == FIELDS.size() ? ALL : new TaskProjection(Set.copyOf(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public TaskProjection with(String... required) {
+        if (isAll()) {
+            return this;
+        }
+        var selected = new LinkedHashSet<>(fields);
+        selected.addAll(List.of(required));
+        return new TaskProjection(Set.copyOf(selected));
+    }
+
+    public TaskDto apply(TaskDto taskDto) {
+        if (isAll()) {
+            return taskDto;
+        }
+        return new ProjectedTaskDto(includes("id") ? taskDto.getId() : null,
+                includes("title") ? taskDto.getTitle() : null,
+                includes("description") ? taskDto.getDescription() : null,
+                includes("creationDate") ? taskDto.getCreationDate() : null,
+                includes("taskStatus") ? taskDto.getTaskStatus() : null,
+                includes("version") ? taskDto.getVersion() : null,
+                includes("listId") ? taskDto.getListId() : null);
+    }
+
+    private boolean includes(String field) {
+        return fields.contains(field);
+    }
+}
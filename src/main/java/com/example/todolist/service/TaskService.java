@@ -1,97 +1,417 @@
 package com.example.todolist.service;
 
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskBulkResultDto;
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskChange;
+import com.example.todolist.repository.TaskFilter;
 import com.example.todolist.repository.TaskRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 @Service
 public class TaskService {
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_SUGGEST_LIMIT = 100;
+    private static final String NOT_INSERTED = "Task not inserted because a previous task failed";
+    private static final Pattern LIST_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
     TaskRepository taskRepository;
     TaskMapper taskMapper;
+    TaskProperties taskProperties;
+    TaskCache taskCache;
+    TaskEventPublisher taskEventPublisher;
+    TaskStatistics taskStatistics;
+    TaskTitleIndex taskTitleIndex;
+    TaskMetrics taskMetrics;
+    TaskValidator taskValidator;
+    TaskWriteCoalescer taskWriteCoalescer;
+    TaskListQuota taskListQuota;
+    TaskCollectionVersion taskCollectionVersion;
+
+    public Flux<TaskDto> getAllTasks(String listId, TaskStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, String sort, String fields,
+                                     boolean includeArchived) {
+        return Mono.fromSupplier(() -> TaskProjection.parse(fields))
+                .flatMapMany(projection -> streamTasks(taskFilter(listId, status, createdFrom, createdTo, sort), projection, includeArchived)
+                        .limitRate(taskProperties.getStream().getPrefetch())
+                        .map(task -> projection.apply(toTaskDto(task))));
+    }
 
-    public Flux<TaskDto> getAllTasks() {
-        return taskRepository.findAll().map(taskMapper::taskToTaskDto);
+    public Mono<TaskPageDto> getTasksPage(String listId, int limit, String after, TaskStatus status, LocalDateTime createdFrom,
+                                          LocalDateTime createdTo, String sort, String fields) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_LIMIT));
+        }
+        return Mono.fromSupplier(() -> TaskProjection.parse(fields))
+                .flatMap(projection -> Flux.defer(() -> {
+                            var filter = taskFilter(listId, status, createdFrom, createdTo, sort);
+                            var queried = projection.with("id", "creationDate").getFields();
+                            if (after == null) {
+                                return taskRepository.findPage(filter, queried, null, null, limit + 1);
+                            }
+                            var cursor = TaskCursor.decode(after);
+                            return taskRepository.findPage(filter, queried, cursor.getCreationDate(), cursor.getId(), limit + 1);
+                        })
+                        .collectList()
+                        .map(tasks -> {
+                            var hasNext = tasks.size() > limit;
+                            var page = hasNext ? tasks.subList(0, limit) : tasks;
+                            var next = hasNext ? TaskCursor.of(page.get(limit - 1)).encode() : null;
+                            return new TaskPageDto(page.stream().map(task -> projection.apply(toTaskDto(task))).toList(), next);
+                        }));
     }
 
-    public Mono<TaskDto> createTask(TaskDto taskDto) {
+    public Mono<TaskDto> createTask(String listId, TaskDto taskDto) {
+        if (isInvalidListId(listId)) {
+            return Mono.error(invalidListId());
+        }
         return validateTaskDto(taskDto)
                 .flatMap(validatedTaskDto -> {
-                    var task = taskMapper.taskDtoToTask(validatedTaskDto);
-                    return taskRepository.save(task)
-                            .map(taskMapper::taskToTaskDto);
+                    var task = toTask(validatedTaskDto);
+                    task.setVersion(null);
+                    task.setListId(listId);
+                    var saved = listId == null
+                            ? insert(task)
+                            : taskListQuota.acquire(listId).then(Mono.defer(() -> insert(task)).doOnError(error -> taskListQuota.release(listId)));
+                    return saved
+                            .doOnNext(taskCache::put)
+                            .doOnNext(taskStatistics::created)
+                            .doOnNext(taskTitleIndex::put)
+                            .doOnNext(savedTask -> taskCollectionVersion.changed(listId))
+                            .map(this::toTaskDto)
+                            .doOnNext(savedTaskDto -> taskEventPublisher.publish(TaskEventDto.created(savedTaskDto)));
+                });
+    }
+
+    private Mono<Task> insert(Task task) {
+        return taskProperties.getCreateBatch().isEnabled()
+                ? taskWriteCoalescer.insert(task)
+                : taskRepository.save(task);
+    }
+
+    private TaskFilter taskFilter(String listId, TaskStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, String sort) {
+        if (isInvalidListId(listId)) {
+            throw invalidListId();
+        }
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Created from cannot be after created to");
+        }
+        Sort.Direction direction;
+        if (sort == null) {
+            direction = null;
+        } else if (sort.equals("creationDate")) {
+            direction = Sort.Direction.ASC;
+        } else if (sort.equals("-creationDate")) {
+            direction = Sort.Direction.DESC;
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort must be creationDate or -creationDate");
+        }
+        return new TaskFilter(listId, status, createdFrom, createdTo, direction);
+    }
+
+    public Flux<TaskBulkResultDto> createTasks(Flux<TaskDto> taskDtos) {
+        var bulk = taskProperties.getBulk();
+        var failed = new AtomicBoolean();
+        return taskDtos.index()
+                .buffer(bulk.getBatchSize())
+                .concatMap(batch -> insertBatch(batch, bulk.isOrdered(), failed));
+    }
+
+    private Flux<TaskBulkResultDto> insertBatch(List<Tuple2<Long, TaskDto>> batch, boolean ordered, AtomicBoolean failed) {
+        var results = new TaskBulkResultDto[batch.size()];
+        var tasks = new ArrayList<Task>();
+        var positions = new ArrayList<Integer>();
+        for (int i = 0; i < batch.size(); i++) {
+            var index = batch.get(i).getT1();
+            var error = failed.get() ? NOT_INSERTED : timedValidationError(batch.get(i).getT2());
+            if (error != null) {
+                results[i] = TaskBulkResultDto.failed(index, error);
+                if (ordered) {
+                    failed.set(true);
+                }
+            } else {
+                var task = toTask(batch.get(i).getT2());
+                task.setVersion(null);
+                task.setListId(null);
+                tasks.add(task);
+                positions.add(i);
+            }
+        }
+        if (tasks.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+        return taskRepository.insertAll(tasks, ordered)
+                .doFinally(signal -> taskCollectionVersion.changed(null))
+                .flatMapMany(writeErrors -> {
+                    var writeFailed = false;
+                    for (int i = 0; i < tasks.size(); i++) {
+                        var position = positions.get(i);
+                        var index = batch.get(position).getT1();
+                        var error = writeErrors.get(i);
+                        if (writeFailed) {
+                            results[position] = TaskBulkResultDto.failed(index, NOT_INSERTED);
+                        } else if (error != null) {
+                            results[position] = TaskBulkResultDto.failed(index, error);
+                            writeFailed = ordered;
+                        } else {
+                            results[position] = TaskBulkResultDto.created(index, tasks.get(i).getId());
+                            taskStatistics.created(tasks.get(i));
+                            taskTitleIndex.put(tasks.get(i));
+                            if (taskEventPublisher.hasSubscribers()) {
+                                taskEventPublisher.publish(TaskEventDto.created(toTaskDto(tasks.get(i))));
+                            }
+                        }
+                    }
+                    if (writeFailed) {
+                        failed.set(true);
+                    }
+                    return Flux.fromArray(results);
                 });
     }
 
-    public Mono<TaskDto> getTaskById(String id) {
+    public Mono<TaskDto> getTaskById(String listId, String id, String fields) {
         if (id == null) {
             return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID cannot be empty"));
         }
-        return taskRepository.findById(id).map(taskMapper::taskToTaskDto);
+        if (isInvalidListId(listId)) {
+            return Mono.error(invalidListId());
+        }
+        return Mono.fromSupplier(() -> TaskProjection.parse(fields))
+                .flatMap(projection -> {
+                    if (projection.isAll()) {
+                        return taskCache.get(id, this::findTask)
+                                .filter(task -> Objects.equals(task.getListId(), listId))
+                                .map(this::toTaskDto);
+                    }
+                    return taskCache.getIfPresent(id)
+                            .filter(task -> Objects.equals(task.getListId(), listId))
+                            .switchIfEmpty(Mono.defer(() -> taskRepository.findProjectedById(id, listId, projection.getFields())))
+                            .switchIfEmpty(Mono.defer(() -> taskRepository.findArchivedById(id, listId, projection.getFields())))
+                            .map(task -> projection.apply(toTaskDto(task)));
+                });
     }
 
-    public Mono<TaskDto> updateTaskById(String id, TaskDto taskDto) {
+    public Mono<TaskDto> updateTaskById(String listId, String id, TaskDto taskDto, Long expectedVersion) {
         if (id == null) {
             return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID cannot be empty"));
         }
+        if (isInvalidListId(listId)) {
+            return Mono.error(invalidListId());
+        }
         var validateResult = validateTaskDto(taskDto);
 
         return validateResult.map(taskDto1 -> {
-                    var task = taskMapper.taskDtoToTask(taskDto);
+                    var task = toTask(taskDto);
                     task.setId(id);
+                    task.setListId(listId);
                     return task;
-                }).flatMap(task -> taskRepository.existsById(id)
-                        .filter(exists -> exists)
-                        .flatMap(exists -> taskRepository.save(task))
-                        .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Task do not exist"))))
-                .map(taskMapper::taskToTaskDto);
+                }).flatMap(task -> taskRepository.update(task, expectedVersion)
+                        .doOnNext(change -> taskTitleIndex.put(change.getCurrent()))
+                        .switchIfEmpty(Mono.defer(() -> taskRepository.updateArchived(task, expectedVersion))))
+                .doOnNext(change -> {
+                    taskStatistics.updated(change.getPrevious(), change.getCurrent());
+                    taskCollectionVersion.changed(listId);
+                })
+                .map(TaskChange::getCurrent)
+                .doOnNext(taskCache::put)
+                .switchIfEmpty(Mono.defer(() -> notFoundOrModified(listId, id, expectedVersion)))
+                .map(this::toTaskDto)
+                .doOnNext(updatedTaskDto -> taskEventPublisher.publish(TaskEventDto.updated(updatedTaskDto)));
     }
 
-    public Mono<Void> deleteTaskById(String id) {
+    public Mono<TaskDto> patchTaskById(String listId, String id, TaskPatchDto taskPatchDto, Long expectedVersion) {
         if (id == null) {
             return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID cannot be empty"));
         }
-        return taskRepository.existsById(id)
-                .filter(exists -> exists)
-                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Task do not exist")))
-                .flatMap(exists -> taskRepository.deleteById(id));
-
+        if (isInvalidListId(listId)) {
+            return Mono.error(invalidListId());
+        }
+        var errors = taskMetrics.getValidation().record(() -> taskValidator.validatePatch(taskPatchDto));
+        if (!errors.isEmpty()) {
+            return Mono.error(new TaskValidationException(errors));
+        }
+        var changes = toTask(id, taskPatchDto);
+        changes.setListId(listId);
+        return taskRepository.patch(changes, expectedVersion)
+                .doOnNext(change -> taskTitleIndex.put(change.getCurrent()))
+                .switchIfEmpty(Mono.defer(() -> taskRepository.patchArchived(changes, expectedVersion)))
+                .doOnNext(change -> {
+                    taskStatistics.updated(change.getPrevious(), change.getCurrent());
+                    taskCollectionVersion.changed(listId);
+                })
+                .map(TaskChange::getCurrent)
+                .doOnNext(taskCache::put)
+                .switchIfEmpty(Mono.defer(() -> notFoundOrModified(listId, id, expectedVersion)))
+                .map(this::toTaskDto)
+                .doOnNext(updatedTaskDto -> taskEventPublisher.publish(TaskEventDto.updated(updatedTaskDto)));
     }
 
-    private Mono<TaskDto> validateTaskDto(TaskDto taskDto) {
-        if (taskDto.getTitle() == null || taskDto.getTitle().isEmpty()) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title cannot be empty"));
+    public Mono<Void> deleteTaskById(String listId, String id, Long expectedVersion) {
+        if (id == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID cannot be empty"));
         }
+        if (isInvalidListId(listId)) {
+            return Mono.error(invalidListId());
+        }
+        var removed = expectedVersion == null
+                ? taskRepository.removeByIdAndListId(id, listId)
+                : taskRepository.removeByIdAndListIdAndVersion(id, listId, expectedVersion);
+        return removed
+                .doOnNext(deleted -> taskListQuota.release(listId))
+                .switchIfEmpty(Mono.defer(() -> taskRepository.removeArchivedById(id, listId, expectedVersion)))
+                .doOnNext(deleted -> {
+                    taskCache.invalidate(id);
+                    taskStatistics.deleted(deleted);
+                    taskTitleIndex.remove(id);
+                    taskCollectionVersion.changed(listId);
+                })
+                .switchIfEmpty(Mono.defer(() -> notFoundOrModified(listId, id, expectedVersion)))
+                .doOnNext(deleted -> taskEventPublisher.publish(TaskEventDto.deleted(id, listId)))
+                .then();
+    }
 
-        if (taskDto.getTitle().length() > 100) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title cannot exceed 100 characters"));
+    public Flux<TaskSuggestionDto> suggestTasks(String listId, String prefix, int limit) {
+        if (isInvalidListId(listId)) {
+            return Flux.error(invalidListId());
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefix cannot be empty"));
         }
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SUGGEST_LIMIT));
+        }
+        return Flux.defer(() -> Flux.fromIterable(taskTitleIndex.suggest(listId, prefix, limit)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public Mono<Void> buildTitleIndex() {
+        return taskRepository.findAll()
+                .doOnNext(taskTitleIndex::put)
+                .then();
+    }
+
+    public Mono<TaskStatsDto> getTaskStats() {
+        return Mono.fromSupplier(taskStatistics::snapshot);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:PT5M}")
+    public Mono<Void> reconcileStatistics() {
+        return Mono.defer(() -> Mono.zip(taskRepository.countByStatus(), taskRepository.countCreatedPerDay(taskStatistics.windowStart())))
+                .doOnNext(counts -> taskStatistics.reset(counts.getT1(), counts.getT2()))
+                .then();
+    }
 
-        if (taskDto.getDescription() != null && taskDto.getDescription().length() > 500) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Description cannot exceed 500 characters"));
+    public Flux<TaskEventDto> getTaskEvents(String listId, TaskStatus status) {
+        if (isInvalidListId(listId)) {
+            return Flux.error(invalidListId());
         }
+        var events = taskEventPublisher.events().filter(event -> Objects.equals(event.getListId(), listId));
+        if (status == null) {
+            return events;
+        }
+        return events.filter(event -> event.getTask() == null || event.getTask().getTaskStatus() == status);
+    }
 
-        if (taskDto.getCreationDate() == null) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Creation date is required"));
+    private Flux<Task> streamTasks(TaskFilter filter, TaskProjection projection, boolean includeArchived) {
+        var cursorBatchSize = taskProperties.getStream().getCursorBatchSize();
+        if (!includeArchived) {
+            return taskRepository.streamAll(filter, projection.getFields(), cursorBatchSize);
         }
+        if (filter.getDirection() == null) {
+            return Flux.concat(taskRepository.streamAll(filter, projection.getFields(), cursorBatchSize),
+                    taskRepository.streamArchived(filter, projection.getFields(), cursorBatchSize));
+        }
+        var queried = projection.with("id", "creationDate").getFields();
+        var order = Comparator.comparing(Task::getCreationDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Task::getId);
+        return Flux.mergeComparing(filter.getDirection().isAscending() ? order : order.reversed(),
+                taskRepository.streamAll(filter, queried, cursorBatchSize),
+                taskRepository.streamArchived(filter, queried, cursorBatchSize));
+    }
 
-        if (taskDto.getCreationDate().isAfter(LocalDateTime.now())) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Creation date cannot be in the future"));
+    private Mono<Task> findTask(String id) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.defer(() -> taskRepository.findArchivedById(id)));
+    }
+
+    static boolean isInvalidListId(String listId) {
+        return listId != null && !LIST_ID.matcher(listId).matches();
+    }
+
+    private static ResponseStatusException invalidListId() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "List ID must be 1 to 64 letters, digits, - or _");
+    }
+
+    private <T> Mono<T> notFoundOrModified(String listId, String id, Long expectedVersion) {
+        taskCache.invalidate(id);
+        var notFound = new ResponseStatusException(HttpStatus.NOT_FOUND, "Task do not exist");
+        if (expectedVersion == null) {
+            return Mono.error(notFound);
         }
+        return taskRepository.existsByIdAndListId(id, listId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.defer(() -> taskRepository.findArchivedById(id, listId, Set.of("id")).hasElement()))
+                .flatMap(exists -> Mono.error(exists
+                        ? new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task was modified")
+                        : notFound));
+    }
 
-        if (taskDto.getTaskStatus() == null) {
-            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Task status is required"));
+    Mono<TaskDto> validateTaskDto(TaskDto taskDto) {
+        var errors = timedValidationErrors(taskDto);
+        if (!errors.isEmpty()) {
+            return Mono.error(new TaskValidationException(errors));
         }
         return Mono.just(taskDto);
     }
-}
+
+    private TaskDto toTaskDto(Task task) {
+        return taskMetrics.getMapping().record(() -> taskMapper.taskToTaskDto(task));
+    }
+
+    private Task toTask(TaskDto taskDto) {
+        return taskMetrics.getMapping().record(() -> taskMapper.taskDtoToTask(taskDto));
+    }
+
+    private Task toTask(String id, TaskPatchDto taskPatchDto) {
+        return taskMetrics.getMapping().record(() -> taskMapper.taskPatchDtoToTask(id, taskPatchDto));
+    }
+
+    private List<TaskFieldErrorDto> timedValidationErrors(TaskDto taskDto) {
+        return taskMetrics.getValidation().record(() -> taskValidator.validate(taskDto));
+    }
+
+    private String timedValidationError(TaskDto taskDto) {
+        var errors = timedValidationErrors(taskDto);
+        return errors.isEmpty() ? null : TaskValidationException.message(errors);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskStatistics {
+
+    Map<TaskStatus, LongAdder> byStatus = new ConcurrentHashMap<>();
+    Map<LocalDate, LongAdder> createdPerDay = new ConcurrentHashMap<>();
+    TaskProperties.Stats properties;
+
+    public TaskStatistics(TaskProperties taskProperties) {
+        this.properties = taskProperties.getStats();
+    }
+
+    public void created(Task task) {
+        add(task, 1);
+    }
+
+    public void updated(Task previous, Task current) {
+        add(previous, -1);
+        add(current, 1);
+    }
+
+    public void deleted(Task task) {
+        add(task, -1);
+    }
+
+    public LocalDateTime windowStart() {
+        return LocalDate.now().minusDays(properties.getDays() - 1L).atStartOfDay();
+    }
+
+    public synchronized void reset(Map<TaskStatus, Long> statusCounts, Map<LocalDate, Long> dayCounts) {
+        byStatus.clear();
+        statusCounts.forEach((status, count) -> byStatus.computeIfAbsent(status, key -> new LongAdder()).add(count));
+        createdPerDay.clear();
+        dayCounts.forEach((day, count) -> createdPerDay.computeIfAbsent(day, key -> new LongAdder()).add(count));
+    }
+
+    public TaskStatsDto snapshot() {
+        var statusCounts = new EnumMap<TaskStatus, Long>(TaskStatus.class);
+        for (var status : TaskStatus.values()) {
+            var count = byStatus.get(status);
+            statusCounts.put(status, count == null ? 0 : Math.max(count.sum(), 0));
+        }
+        var firstDay = windowStart().toLocalDate();
+        var dayCounts = new TreeMap<LocalDate, Long>();
+        createdPerDay.forEach((day, count) -> {
+            var sum = count.sum();
+            if (!day.isBefore(firstDay) && sum > 0) {
+                dayCounts.put(day, sum);
+            }
+        });
+        return new TaskStatsDto(statusCounts, dayCounts);
+    }
+
+    private void add(Task task, long delta) {
+        if (task.getTaskStatus() != null) {
+            byStatus.computeIfAbsent(task.getTaskStatus(), key -> new LongAdder()).add(delta);
+        }
+        if (task.getCreationDate() != null) {
+            createdPerDay.computeIfAbsent(task.getCreationDate().toLocalDate(), key -> new LongAdder()).add(delta);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.entity.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskTitleIndex {
+    private static final char SEPARATOR = '\u0000';
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    NavigableMap<String, TaskSuggestionDto> titles = new ConcurrentSkipListMap<>();
+    Map<String, String> keysById = new ConcurrentHashMap<>();
+    AtomicLong estimatedBytes = new AtomicLong();
+
+    public TaskTitleIndex(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("tasks.suggest.index.entries", titles, Map::size);
+        meterRegistry.gauge("tasks.suggest.index.memory", estimatedBytes, AtomicLong::get);
+    }
+
+    public synchronized void put(Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        if (task.getTitle() == null) {
+            remove(task.getId());
+            return;
+        }
+        var key = listKey(task.getListId()) + normalize(task.getTitle()) + SEPARATOR + task.getId();
+        var previousKey = keysById.put(task.getId(), key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            removeEntry(previousKey);
+        }
+        var suggestion = new TaskSuggestionDto(task.getId(), task.getTitle());
+        var previous = titles.put(key, suggestion);
+        estimatedBytes.addAndGet(entryBytes(key, suggestion) - (previous == null ? 0 : entryBytes(key, previous)));
+    }
+
+    public synchronized void remove(String id) {
+        var key = keysById.remove(id);
+        if (key != null) {
+            removeEntry(key);
+        }
+    }
+
+    public List<TaskSuggestionDto> suggest(String listId, String prefix, int limit) {
+        var from = listKey(listId) + normalize(prefix);
+        var result = new ArrayList<TaskSuggestionDto>(limit);
+        for (var suggestion : titles.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            result.add(suggestion);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return titles.size();
+    }
+
+    public long estimatedMemory() {
+        return estimatedBytes.get();
+    }
+
+    private void removeEntry(String key) {
+        var suggestion = titles.remove(key);
+        if (suggestion != null) {
+            estimatedBytes.addAndGet(-entryBytes(key, suggestion));
+        }
+    }
+
+    private static long entryBytes(String key, TaskSuggestionDto suggestion) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + suggestion.getTitle().length());
+    }
+
+    private static String listKey(String listId) {
+        return (listId == null ? "" : listId) + SEPARATOR;
+    }
+
+    private static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskFieldErrorDto;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Getter
+public class TaskValidationException extends ResponseStatusException {
+    private final transient List<TaskFieldErrorDto> errors;
+
+    public TaskValidationException(List<TaskFieldErrorDto> errors) {
+        super(HttpStatus.BAD_REQUEST, message(errors));
+        this.errors = errors;
+    }
+
+    public static String message(List<TaskFieldErrorDto> errors) {
+        if (errors.size() == 1) {
+            return errors.get(0).getMessage();
+        }
+        var message = new StringBuilder();
+        for (var error : errors) {
+            if (!message.isEmpty()) {
+                message.append("; ");
+            }
+            message.append(error.getMessage());
+        }
+        return message.toString();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
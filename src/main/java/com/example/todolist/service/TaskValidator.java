@@ -0,0 +1,118 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskPatchDto;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskValidator {
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final TaskFieldErrorDto TITLE_EMPTY = new TaskFieldErrorDto("title", "Title cannot be empty");
+    private static final TaskFieldErrorDto TITLE_TOO_LONG = new TaskFieldErrorDto("title", "Title cannot exceed " + MAX_TITLE_LENGTH + " characters");
+    private static final TaskFieldErrorDto DESCRIPTION_TOO_LONG = new TaskFieldErrorDto("description", "Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+    private static final TaskFieldErrorDto CREATION_DATE_REQUIRED = new TaskFieldErrorDto("creationDate", "Creation date is required");
+    private static final TaskFieldErrorDto CREATION_DATE_IN_FUTURE = new TaskFieldErrorDto("creationDate", "Creation date cannot be in the future");
+    private static final TaskFieldErrorDto TASK_STATUS_REQUIRED = new TaskFieldErrorDto("taskStatus", "Task status is required");
+    private static final List<TaskFieldErrorDto> NOTHING_TO_UPDATE = List.of(new TaskFieldErrorDto(null, "Nothing to update"));
+
+    Clock clock;
+
+    @NonFinal
+    volatile LocalDateTime now;
+
+    public TaskValidator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    TaskValidator(Clock clock) {
+        this.clock = clock;
+        this.now = LocalDateTime.now(clock);
+    }
+
+    public List<TaskFieldErrorDto> validate(TaskDto taskDto) {
+        List<TaskFieldErrorDto> errors = null;
+        errors = add(errors, titleError(taskDto.getTitle()));
+        errors = add(errors, descriptionError(taskDto.getDescription()));
+        errors = add(errors, creationDateError(taskDto.getCreationDate()));
+        if (taskDto.getTaskStatus() == null) {
+            errors = add(errors, TASK_STATUS_REQUIRED);
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    public List<TaskFieldErrorDto> validatePatch(TaskPatchDto taskPatchDto) {
+        if (taskPatchDto.getTitle() == null && taskPatchDto.getDescription() == null
+                && taskPatchDto.getCreationDate() == null && taskPatchDto.getTaskStatus() == null) {
+            return NOTHING_TO_UPDATE;
+        }
+        List<TaskFieldErrorDto> errors = null;
+        if (taskPatchDto.getTitle() != null) {
+            errors = add(errors, titleError(taskPatchDto.getTitle()));
+        }
+        errors = add(errors, descriptionError(taskPatchDto.getDescription()));
+        if (taskPatchDto.getCreationDate() != null) {
+            errors = add(errors, creationDateError(taskPatchDto.getCreationDate()));
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    private static List<TaskFieldErrorDto> add(List<TaskFieldErrorDto> errors, TaskFieldErrorDto error) {
+        if (error == null) {
+            return errors;
+        }
+        if (errors == null) {
+            errors = new ArrayList<>(4);
+        }
+        errors.add(error);
+        return errors;
+    }
+
+    private TaskFieldErrorDto titleError(String title) {
+        if (title == null || title.isEmpty()) {
+            return TITLE_EMPTY;
+        }
+
+        if (title.length() > MAX_TITLE_LENGTH) {
+            return TITLE_TOO_LONG;
+        }
+        return null;
+    }
+
+    private TaskFieldErrorDto descriptionError(String description) {
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            return DESCRIPTION_TOO_LONG;
+        }
+        return null;
+    }
+
+    private TaskFieldErrorDto creationDateError(LocalDateTime creationDate) {
+        if (creationDate == null) {
+            return CREATION_DATE_REQUIRED;
+        }
+
+        if (isInFuture(creationDate)) {
+            return CREATION_DATE_IN_FUTURE;
+        }
+        return null;
+    }
+
+    private boolean isInFuture(LocalDateTime creationDate) {
+        if (!creationDate.isAfter(now)) {
+            return false;
+        }
+        var current = LocalDateTime.now(clock);
+        now = current;
+        return creationDate.isAfter(current);
+    }
+}
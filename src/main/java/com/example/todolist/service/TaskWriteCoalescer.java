@@ -0,0 +1,85 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.List;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskWriteCoalescer {
+    Sinks.Many<PendingInsert> pending = Sinks.unsafe().many().unicast()
+            .onBackpressureBuffer(Queues.<PendingInsert>unboundedMultiproducer().get());
+    TaskRepository taskRepository;
+    DistributionSummary batchSize;
+    Disposable subscription;
+
+    public TaskWriteCoalescer(TaskRepository taskRepository, TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        var properties = taskProperties.getCreateBatch();
+        this.taskRepository = taskRepository;
+        this.batchSize = DistributionSummary.builder("tasks.create.batch.size")
+                .description("Number of created tasks written together in one insert")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.subscription = pending.asFlux()
+                .bufferTimeout(properties.getMaxSize(), properties.getMaxDelay(), true)
+                .flatMap(this::insertBatch, properties.getConcurrency())
+                .subscribe();
+    }
+
+    public Mono<Task> insert(Task task) {
+        return Mono.defer(() -> {
+            var result = Sinks.<Task>one();
+            var emitResult = pending.tryEmitNext(new PendingInsert(task, result));
+            if (emitResult.isFailure()) {
+                return Mono.error(new IllegalStateException("Task write coalescer is closed: " + emitResult));
+            }
+            return result.asMono();
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        pending.tryEmitComplete();
+        subscription.dispose();
+    }
+
+    private Mono<Void> insertBatch(List<PendingInsert> batch) {
+        batchSize.record(batch.size());
+        var tasks = batch.stream().map(PendingInsert::getTask).toList();
+        return Mono.defer(() -> taskRepository.insertAll(tasks, false))
+                .doOnNext(writeErrors -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        var error = writeErrors.get(i);
+                        var result = batch.get(i).getResult();
+                        if (error == null) {
+                            result.tryEmitValue(tasks.get(i));
+                        } else {
+                            result.tryEmitError(new DataIntegrityViolationException(error));
+                        }
+                    }
+                })
+                .doOnError(error -> batch.forEach(insert -> insert.getResult().tryEmitError(error)))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    @Value
+    private static class PendingInsert {
+        Task task;
+        Sinks.One<Task> result;
+    }
+}
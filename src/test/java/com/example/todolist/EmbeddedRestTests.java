@@ -0,0 +1,9 @@
+package com.example.todolist;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@ActiveProfiles("embedded")
+@TestPropertySource(properties = "tasks.embedded.directory=target/embedded-rest-tests")
+public class EmbeddedRestTests extends RestTests {
+}
@@ -0,0 +1,50 @@
+package com.example.todolist;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+public class MetricsTests {
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void prometheusExposesStageMeters() {
+        var created = client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "title", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        client.get().uri("/tasks/" + created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        var scrape = client.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("tasks_stage_seconds_count\\{stage=\"validation\"} [1-9]")
+                .containsPattern("tasks_stage_seconds_count\\{stage=\"mapping\"} [1-9]")
+                .containsPattern("tasks_stage_seconds_count\\{stage=\"encoding\"} [1-9]")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("mongodb_driver_commands_seconds_bucket{")
+                .contains("mongodb_driver_pool_size{")
+                .contains("reactor_netty_http_server_data_received_bytes");
+    }
+}
@@ -1,16 +1,34 @@
 package com.example.todolist;
 
+import com.example.todolist.config.CodecConfig;
+import com.example.todolist.dto.TaskBulkResultDto;
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskEventType;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskImportProgressDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.dto.TaskValidationErrorDto;
 import com.example.todolist.entity.TaskStatus;
 import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.TaskArchiver;
+import com.example.todolist.service.TaskService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,6 +45,12 @@ public class RestTests {
     @Autowired
     TaskRepository taskRepository;
 
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    TaskArchiver taskArchiver;
+
     @BeforeEach
     void deleteAllDatabase() {
         taskRepository.deleteAll().block();
@@ -34,7 +58,7 @@ public class RestTests {
 
     @Test
     void saveTest() {
-        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS);
+        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null);
 
         var response = client.post()
                 .uri("/tasks")
@@ -54,9 +78,30 @@ public class RestTests {
         assertThat(task.getTaskStatus()).isEqualTo(taskDto.getTaskStatus());
     }
 
+    @Test
+    void concurrentSaveTest() {
+        var ids = Flux.range(0, 50)
+                .flatMap(i -> Mono.fromCallable(() -> client.post()
+                                .uri("/tasks")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .body(Mono.just(new TaskDto(null, "testTitle" + i, null, LocalDateTime.now(), TaskStatus.CREATED, null, null)), TaskDto.class)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody(TaskDto.class)
+                                .returnResult()
+                                .getResponseBody()
+                                .getId())
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block();
+
+        assertThat(ids).hasSize(50).doesNotHaveDuplicates();
+        assertThat(taskRepository.count().block()).isEqualTo(50);
+    }
+
     @Test
     void saveTestWithNoTitle() {
-        var taskDto = new TaskDto(null, "", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS);
+        var taskDto = new TaskDto(null, "", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null);
 
         client.post()
                 .uri("/tasks")
@@ -68,19 +113,104 @@ public class RestTests {
 
     @Test
     void saveTestWithWrongTime() {
-        var taskDto = new TaskDto(null, "", "testDescription2", LocalDateTime.now().plusMinutes(10), TaskStatus.IN_PROGRESS);
+        var taskDto = new TaskDto(null, "", "testDescription2", LocalDateTime.now().plusMinutes(10), TaskStatus.IN_PROGRESS, null, null);
 
         client.post()
                 .uri("/tasks")
                 .accept(MediaType.APPLICATION_JSON)
                 .body(Mono.just(taskDto), TaskDto.class)
                 .exchange()
-                .expectStatus().isBadRequest();
+                .expectStatus().isBadRequest()
+                .expectBody(TaskValidationErrorDto.class)
+                .isEqualTo(new TaskValidationErrorDto(400, "Bad Request", "Title cannot be empty; Creation date cannot be in the future",
+                        List.of(new TaskFieldErrorDto("title", "Title cannot be empty"),
+                                new TaskFieldErrorDto("creationDate", "Creation date cannot be in the future"))));
+    }
+
+    @Test
+    void bulkSaveTest() {
+        var tasks = List.of(new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.CREATED, null, null),
+                new TaskDto(null, "", "testDescription2", LocalDateTime.now(), TaskStatus.CREATED, null, null),
+                new TaskDto(null, "testTitle3", "testDescription3", LocalDateTime.now(), TaskStatus.CREATED, null, null));
+
+        var results = client.post()
+                .uri("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Flux.fromIterable(tasks), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskBulkResultDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getId()).isNotBlank();
+        assertThat(results.get(1).getError()).isEqualTo("Title cannot be empty");
+        assertThat(results.get(2).getId()).isNotBlank();
+        assertThat(taskRepository.count().block()).isEqualTo(2);
+    }
+
+    @Test
+    void smileTest() {
+        var dateTime = LocalDateTime.of(2024, 1, 2, 2, 2, 2, 123_000_000);
+        var taskDto = new TaskDto(null, "testTitle1", "testDescription1", dateTime, TaskStatus.IN_PROGRESS, null, null);
+
+        var created = client.post()
+                .uri("/tasks")
+                .contentType(CodecConfig.APPLICATION_SMILE)
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .body(Mono.just(taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(CodecConfig.APPLICATION_SMILE)
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(created).isNotNull();
+        assertThat(created.getCreationDate()).isEqualTo(dateTime);
+        assertThat(created.getTaskStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+
+        var bulkResults = client.post()
+                .uri("/tasks/bulk")
+                .contentType(CodecConfig.APPLICATION_STREAM_SMILE)
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .body(Flux.just(taskDto, taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskBulkResultDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(bulkResults).hasSize(2).allSatisfy(result -> assertThat(result.getId()).isNotBlank());
+
+        for (var mediaType : List.of(CodecConfig.APPLICATION_SMILE, CodecConfig.APPLICATION_STREAM_SMILE)) {
+            client.get()
+                    .uri("/tasks?sort=creationDate")
+                    .accept(mediaType)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(mediaType)
+                    .expectBodyList(TaskDto.class)
+                    .hasSize(3)
+                    .contains(created);
+        }
+
+        client.post()
+                .uri("/tasks")
+                .contentType(CodecConfig.APPLICATION_SMILE)
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .body(Mono.just(new TaskDto(null, "", null, dateTime, TaskStatus.CREATED, null, null)), TaskDto.class)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(TaskValidationErrorDto.class)
+                .value(error -> assertThat(error.getErrors()).containsExactly(new TaskFieldErrorDto("title", "Title cannot be empty")));
     }
 
     @Test
     void updateTest() {
-        var taskDto = new TaskDto(null, "testTitle1", "testDescriptionUpdated", LocalDateTime.now(), TaskStatus.FINISHED);
+        var taskDto = new TaskDto(null, "testTitle1", "testDescriptionUpdated", LocalDateTime.now(), TaskStatus.FINISHED, null, null);
 
         var createResponse = client.post()
                 .uri("/tasks")
@@ -113,9 +243,66 @@ public class RestTests {
         assertThat(task.getTaskStatus()).isEqualTo(taskDto.getTaskStatus());
     }
 
+    @Test
+    void updateTestWithIfMatch() {
+        var taskDto = new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+
+        var createdTask = client.post()
+                .uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+        Assertions.assertNotNull(createdTask);
+        var id = createdTask.getId();
+
+        var eTag = client.get()
+                .uri("/tasks/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(TaskDto.class)
+                .getResponseHeaders()
+                .getETag();
+
+        client.get()
+                .uri("/tasks/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.put()
+                .uri("/tasks/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(Mono.just(taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(eTag));
+
+        client.put()
+                .uri("/tasks/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(Mono.just(taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        client.delete()
+                .uri("/tasks/" + id)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
     @Test
     void updateTestWithWrongID() {
-        var taskDto = new TaskDto(null, "testTitle1", "testDescriptionUpdated", LocalDateTime.now(), TaskStatus.FINISHED);
+        var taskDto = new TaskDto(null, "testTitle1", "testDescriptionUpdated", LocalDateTime.now(), TaskStatus.FINISHED, null, null);
         client.put()
                 .uri("/tasks/xxx")
                 .accept(MediaType.APPLICATION_JSON)
@@ -124,10 +311,52 @@ public class RestTests {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void patchTest() {
+        var taskDto = new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+
+        var createdTask = client.post()
+                .uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(taskDto), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+        Assertions.assertNotNull(createdTask);
+
+        var task = client.patch()
+                .uri("/tasks/" + createdTask.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new TaskPatchDto(null, null, null, TaskStatus.FINISHED)), TaskPatchDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(task).isNotNull();
+        assertThat(task.getId()).isEqualTo(createdTask.getId());
+        assertThat(task.getTitle()).isEqualTo(taskDto.getTitle());
+        assertThat(task.getDescription()).isEqualTo(taskDto.getDescription());
+        assertThat(task.getTaskStatus()).isEqualTo(TaskStatus.FINISHED);
+    }
+
+    @Test
+    void patchTestWithWrongID() {
+        client.patch()
+                .uri("/tasks/xxx")
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new TaskPatchDto(null, null, null, TaskStatus.FINISHED)), TaskPatchDto.class)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     void getAllTasksTest() {
-        var tasks = List.of(new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.IN_PROGRESS),
-                new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS));
+        var tasks = List.of(new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null),
+                new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null));
         var ids = new ArrayList<String>();
         for (var taskDto : tasks) {
             var response = client.post()
@@ -152,9 +381,483 @@ public class RestTests {
                 .expectBodyList(TaskDto.class).hasSize(ids.size());
     }
 
+    @Test
+    void collectionETagTest() {
+        var taskDto = new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+        client.post().uri("/tasks").bodyValue(taskDto).exchange().expectStatus().isOk();
+        var eTag = client.get().uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .returnResult(TaskDto.class)
+                .getResponseHeaders()
+                .getETag();
+        assertThat(eTag).isNotBlank();
+
+        client.get().uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        client.get().uri("/tasks?status=CREATED")
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk();
+        var pageETag = client.get().uri("/tasks?limit=10")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskPageDto.class)
+                .getResponseHeaders()
+                .getETag();
+        client.get().uri("/tasks?limit=10")
+                .ifNoneMatch(pageETag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.post().uri("/tasks").bodyValue(taskDto).exchange().expectStatus().isOk();
+
+        client.get().uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class).hasSize(2);
+    }
+
+    @Test
+    void streamAllTasksTest() {
+        var tasks = List.of(new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null),
+                new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null));
+        for (var taskDto : tasks) {
+            client.post()
+                    .uri("/tasks")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(Mono.just(taskDto), TaskDto.class)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        var result = client.get()
+                .uri("/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskDto.class);
+
+        StepVerifier.create(result.getResponseBody())
+                .expectNextCount(tasks.size())
+                .verifyComplete();
+    }
+
+    @Test
+    void taskEventsTest() {
+        var taskDto = new TaskDto(null, "testTitle1", "testDescription1", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+
+        var events = client.get()
+                .uri("/tasks/events?status=CREATED")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskEventDto.class)
+                .getResponseBody();
+
+        StepVerifier.create(events.take(1))
+                .then(() -> client.post()
+                        .uri("/tasks")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(Mono.just(taskDto), TaskDto.class)
+                        .exchange()
+                        .expectStatus().isOk())
+                .assertNext(event -> {
+                    assertThat(event.getType()).isEqualTo(TaskEventType.CREATED);
+                    assertThat(event.getTask().getTitle()).isEqualTo(taskDto.getTitle());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPageTest() {
+        var now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            var taskDto = new TaskDto(null, "testTitle" + i, "testDescription" + i, now.minusMinutes(3 - i), TaskStatus.CREATED, null, null);
+            client.post()
+                    .uri("/tasks")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(Mono.just(taskDto), TaskDto.class)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        var firstPage = client.get()
+                .uri("/tasks?limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskPageDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(firstPage).isNotNull();
+        assertThat(firstPage.getTasks()).extracting(TaskDto::getTitle).containsExactly("testTitle0", "testTitle1");
+        assertThat(firstPage.getNext()).isNotBlank();
+
+        var secondPage = client.get()
+                .uri(uriBuilder -> uriBuilder.path("/tasks").queryParam("limit", 2).queryParam("after", firstPage.getNext()).build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskPageDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(secondPage).isNotNull();
+        assertThat(secondPage.getTasks()).extracting(TaskDto::getTitle).containsExactly("testTitle2");
+        assertThat(secondPage.getNext()).isNull();
+    }
+
+    @Test
+    void getFilteredTasksTest() {
+        var now = LocalDateTime.now();
+        var tasks = List.of(new TaskDto(null, "testTitle1", "testDescription1", now.minusDays(3), TaskStatus.FINISHED, null, null),
+                new TaskDto(null, "testTitle2", "testDescription2", now.minusDays(2), TaskStatus.FINISHED, null, null),
+                new TaskDto(null, "testTitle3", "testDescription3", now.minusDays(1), TaskStatus.FINISHED, null, null),
+                new TaskDto(null, "testTitle4", "testDescription4", now.minusDays(1), TaskStatus.CREATED, null, null));
+        for (var taskDto : tasks) {
+            client.post()
+                    .uri("/tasks")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(Mono.just(taskDto), TaskDto.class)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        var result = client.get()
+                .uri(uriBuilder -> uriBuilder.path("/tasks")
+                        .queryParam("status", TaskStatus.FINISHED)
+                        .queryParam("createdFrom", now.minusDays(2).minusHours(1))
+                        .queryParam("sort", "-creationDate")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(result).extracting(TaskDto::getTitle).containsExactly("testTitle3", "testTitle2");
+    }
+
+    @Test
+    void getProjectedTasksTest() {
+        var created = client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "testTitle", "testDescription", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+
+        client.get().uri("/tasks?fields=id,title")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(created.getId())
+                .jsonPath("$[0].title").isEqualTo("testTitle")
+                .jsonPath("$[0].description").doesNotExist()
+                .jsonPath("$[0].taskStatus").doesNotExist();
+
+        client.get().uri("/tasks?limit=1&fields=title")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tasks[0].title").isEqualTo("testTitle")
+                .jsonPath("$.tasks[0].id").doesNotExist()
+                .jsonPath("$.tasks[0].creationDate").doesNotExist();
+
+        client.get().uri("/tasks/" + created.getId() + "?fields=taskStatus")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.taskStatus").isEqualTo(TaskStatus.CREATED.name())
+                .jsonPath("$.title").doesNotExist();
+
+        client.get().uri("/tasks?fields=owner")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void archivedTasksTest() {
+        var now = LocalDateTime.now();
+        var archived = client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "archivedTitle", "description", now.minusDays(40), TaskStatus.FINISHED, null, null))
+                .exchange()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "recentTitle", "description", now.minusDays(1), TaskStatus.FINISHED, null, null))
+                .exchange()
+                .expectStatus().isOk();
+
+        taskArchiver.archiveFinishedTasks().block();
+
+        client.get().uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskDto::getTitle).containsExactly("recentTitle"));
+        client.get().uri("/tasks?includeArchived=true&sort=creationDate")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskDto::getTitle).containsExactly("archivedTitle", "recentTitle"));
+        var eTag = client.get().uri("/tasks/" + archived.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .isEqualTo(archived)
+                .returnResult().getResponseHeaders().getETag();
+
+        client.patch().uri("/tasks/" + archived.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(new TaskPatchDto("renamedTitle", null, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .value(task -> assertThat(task.getTitle()).isEqualTo("renamedTitle"));
+        client.delete().uri("/tasks/" + archived.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        client.delete().uri("/tasks/" + archived.getId())
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/tasks/" + archived.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void listTasksTest() {
+        var inList = client.post().uri("/lists/list-a/tasks")
+                .bodyValue(new TaskDto(null, "listTitle", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        assertThat(inList).isNotNull();
+        assertThat(inList.getListId()).isEqualTo("list-a");
+        client.post().uri("/lists/list-b/tasks")
+                .bodyValue(new TaskDto(null, "otherListTitle", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectStatus().isOk();
+        client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "noListTitle", "description", LocalDateTime.now(), TaskStatus.CREATED, null, "list-a"))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/lists/list-a/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskDto::getTitle).containsExactly("listTitle"));
+        client.get().uri("/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .value(tasks -> assertThat(tasks).extracting(TaskDto::getTitle).containsExactly("noListTitle"));
+        client.get().uri("/lists/list-a/tasks/" + inList.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDto.class)
+                .isEqualTo(inList);
+        client.get().uri("/lists/list-b/tasks/" + inList.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+        client.delete().uri("/tasks/" + inList.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/lists/list!a/tasks")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.delete().uri("/lists/list-a/tasks/" + inList.getId())
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/lists/list-a/tasks/" + inList.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void exportImportTest() {
+        var dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+        for (var title : List.of("first", "second, \"quoted\"", "third")) {
+            client.post().uri("/lists/list-a/tasks")
+                    .bodyValue(new TaskDto(null, title, "line\nbreak", dateTime, TaskStatus.CREATED, null, null))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        var tasks = client.get().uri("/tasks/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(tasks).extracting(TaskDto::getId).isSorted().hasSize(3);
+        client.get().uri("/tasks/export?after=" + tasks.get(0).getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskDto.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+        var csv = client.get().uri("/tasks/export?format=csv&gzip=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/gzip")
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv.gz\"")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        taskRepository.deleteAll().block();
+        var progress = client.post().uri("/tasks/import?format=csv&gzip=true")
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskImportProgressDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(progress).last().isEqualTo(new TaskImportProgressDto(3, 3, 0, List.of()));
+        client.get().uri("/lists/list-a/tasks")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskDto.class)
+                .value(imported -> assertThat(imported).usingRecursiveFieldByFieldElementComparatorIgnoringFields("version")
+                        .containsExactlyInAnyOrderElementsOf(tasks));
+        client.post().uri("/tasks/import?skip=1")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.fromIterable(tasks), TaskDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskImportProgressDto.class)
+                .value(duplicates -> assertThat(duplicates).last().extracting(TaskImportProgressDto::getFailed).isEqualTo(2L));
+        client.get().uri("/tasks/export?format=xml")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void suggestTasksTest() {
+        var created = client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "Buy milk", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "Call mom", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/tasks/suggest?prefix=bu&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSuggestionDto.class)
+                .isEqualTo(List.of(new TaskSuggestionDto(created.getId(), "Buy milk")));
+
+        client.delete().uri("/tasks/" + created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/tasks/suggest?prefix=bu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSuggestionDto.class)
+                .hasSize(0);
+
+        client.get().uri("/tasks/suggest?prefix=")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        var inList = client.post().uri("/lists/list-a/tasks")
+                .bodyValue(new TaskDto(null, "Buy bread", "description", LocalDateTime.now(), TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        client.get().uri("/lists/list-a/tasks/suggest?prefix=bu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSuggestionDto.class)
+                .isEqualTo(List.of(new TaskSuggestionDto(inList.getId(), "Buy bread")));
+        client.get().uri("/lists/list-b/tasks/suggest?prefix=bu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSuggestionDto.class)
+                .hasSize(0);
+        client.get().uri("/tasks/suggest?prefix=bu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskSuggestionDto.class)
+                .hasSize(0);
+    }
+
+    @Test
+    void taskStatsTest() {
+        taskService.reconcileStatistics().block();
+        var now = LocalDateTime.now();
+        var created = client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "title", "description", now, TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectBody(TaskDto.class)
+                .returnResult().getResponseBody();
+        client.post().uri("/tasks")
+                .bodyValue(new TaskDto(null, "title", "description", now, TaskStatus.CREATED, null, null))
+                .exchange()
+                .expectStatus().isOk();
+        client.patch().uri("/tasks/" + created.getId())
+                .bodyValue(new TaskPatchDto(null, null, null, TaskStatus.FINISHED))
+                .exchange()
+                .expectStatus().isOk();
+
+        var stats = client.get().uri("/tasks/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskStatsDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(stats.getByStatus()).containsEntry(TaskStatus.CREATED, 1L).containsEntry(TaskStatus.FINISHED, 1L);
+        assertThat(stats.getCreatedPerDay()).containsEntry(now.toLocalDate(), 2L);
+
+        taskService.reconcileStatistics().block();
+        var reconciled = client.get().uri("/tasks/stats")
+                .exchange()
+                .expectBody(TaskStatsDto.class)
+                .returnResult().getResponseBody();
+        assertThat(reconciled).isEqualTo(stats);
+    }
+
     @Test
     void getTaskByIdTest() {
-        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS);
+        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null);
 
         var createResponse = client.post()
                 .uri("/tasks")
@@ -193,7 +896,7 @@ public class RestTests {
 
     @Test
     void deleteTest() {
-        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS);
+        var taskDto = new TaskDto(null, "testTitle2", "testDescription2", LocalDateTime.now(), TaskStatus.IN_PROGRESS, null, null);
 
         var createResponse = client.post()
                 .uri("/tasks")
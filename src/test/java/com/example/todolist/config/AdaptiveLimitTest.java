@@ -0,0 +1,111 @@
+package com.example.todolist.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimitTest {
+    private static final long MILLISECOND = 1_000_000;
+
+    TaskProperties.Limit properties = new TaskProperties.Limit();
+    int initialLimit = 50;
+    int maxLimit = 500;
+
+    @Test
+    void limitGrowsWhileLatencyIsStable() {
+        var limit = adaptiveLimit();
+
+        for (int i = 0; i < 100; i++) {
+            fill(limit);
+            releaseAll(limit, 10 * MILLISECOND);
+        }
+
+        Assertions.assertTrue(limit.getLimit() > initialLimit);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        var limit = adaptiveLimit();
+        fill(limit);
+        releaseAll(limit, 10 * MILLISECOND);
+        var before = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            fill(limit);
+            releaseAll(limit, 100 * MILLISECOND);
+        }
+
+        Assertions.assertTrue(limit.getLimit() < before);
+        Assertions.assertTrue(limit.getLimit() >= properties.getMinLimit());
+    }
+
+    @Test
+    void limitDoesNotGrowWhenMostlyIdle() {
+        var limit = adaptiveLimit();
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(limit.tryAcquire(0));
+            limit.release(10 * MILLISECOND);
+        }
+
+        Assertions.assertEquals(initialLimit, limit.getLimit());
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        maxLimit = 60;
+        var limit = adaptiveLimit();
+
+        for (int i = 0; i < 200; i++) {
+            fill(limit);
+            releaseAll(limit, MILLISECOND);
+        }
+
+        Assertions.assertEquals(60, limit.getLimit());
+    }
+
+    @Test
+    void reserveIsKeptFree() {
+        initialLimit = 10;
+        var limit = adaptiveLimit();
+
+        for (int i = 0; i < 8; i++) {
+            Assertions.assertTrue(limit.tryAcquire(2));
+        }
+
+        Assertions.assertFalse(limit.tryAcquire(2));
+        Assertions.assertTrue(limit.tryAcquire(0));
+        Assertions.assertTrue(limit.tryAcquire(0));
+        Assertions.assertFalse(limit.tryAcquire(0));
+        Assertions.assertEquals(10, limit.getInFlight());
+    }
+
+    @Test
+    void queueIsEstimatedFromLatencyIncrease() {
+        var limit = adaptiveLimit();
+        fill(limit);
+        releaseAll(limit, 10 * MILLISECOND);
+        Assertions.assertEquals(0, limit.getQueue());
+
+        fill(limit);
+        for (int i = 0; i < 10; i++) {
+            limit.release(100 * MILLISECOND);
+        }
+
+        Assertions.assertTrue(limit.getQueue() > 0);
+    }
+
+    private AdaptiveLimit adaptiveLimit() {
+        return new AdaptiveLimit(initialLimit, properties.getMinLimit(), maxLimit, properties.getSmoothing(), properties.getTolerance());
+    }
+
+    private void fill(AdaptiveLimit limit) {
+        while (limit.tryAcquire(0)) {
+        }
+    }
+
+    private void releaseAll(AdaptiveLimit limit, long rttNanos) {
+        while (limit.getInFlight() > 0) {
+            limit.release(rttNanos);
+        }
+    }
+}
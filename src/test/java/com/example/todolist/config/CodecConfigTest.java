@@ -0,0 +1,120 @@
+package com.example.todolist.config;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+class CodecConfigTest {
+    ResolvableType taskType = ResolvableType.forClass(TaskDto.class);
+    TaskDto taskDto = new TaskDto("65a0f1c2e4b0a1b2c3d4e5f6", "Test Task", "Description",
+            LocalDateTime.of(2024, 1, 2, 2, 2, 2, 123_456_789), TaskStatus.IN_PROGRESS, 3L, null);
+    List<TaskDto> taskDtos = List.of(taskDto,
+            new TaskDto("65a0f1c2e4b0a1b2c3d4e5f7", "Other Task", null, LocalDateTime.of(2024, 1, 3, 0, 0), TaskStatus.FINISHED, 0L, null));
+    SmileArrayEncoder encoder = new SmileArrayEncoder(CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json()),
+            CodecConfig.SMILE_MIME_TYPES);
+    Jackson2SmileDecoder decoder = new Jackson2SmileDecoder(CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json()),
+            CodecConfig.SMILE_MIME_TYPES);
+
+    @Test
+    void smileIsSupported() {
+        Assertions.assertTrue(encoder.canEncode(taskType, CodecConfig.APPLICATION_SMILE));
+        Assertions.assertTrue(encoder.canEncode(taskType, CodecConfig.APPLICATION_STREAM_SMILE));
+        Assertions.assertTrue(decoder.canDecode(taskType, CodecConfig.APPLICATION_SMILE));
+        Assertions.assertFalse(encoder.canEncode(taskType, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void singleTaskRoundTrip() {
+        var encoded = encoder.encode(Mono.just(taskDto), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_SMILE, Map.of());
+
+        StepVerifier.create(decoder.decodeToMono(encoded, taskType, CodecConfig.APPLICATION_SMILE, Map.of()))
+                .expectNext(taskDto)
+                .verifyComplete();
+    }
+
+    @Test
+    void taskArrayRoundTrip() {
+        var encoded = encoder.encode(Flux.fromIterable(taskDtos), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_SMILE, Map.of());
+
+        StepVerifier.create(decoder.decode(encoded, taskType, CodecConfig.APPLICATION_SMILE, Map.of()))
+                .expectNextSequence(taskDtos)
+                .verifyComplete();
+    }
+
+    @Test
+    void taskArrayIsEncodedIncrementally() {
+        var encoded = encoder.encode(Flux.fromIterable(taskDtos), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_SMILE, Map.of());
+
+        StepVerifier.create(encoded)
+                .expectNextCount(taskDtos.size() + 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void emptyTaskArrayRoundTrip() {
+        var encoded = encoder.encode(Flux.empty(), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_SMILE, Map.of());
+
+        StepVerifier.create(decoder.decode(encoded, taskType, CodecConfig.APPLICATION_SMILE, Map.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    void taskStreamRoundTrip() {
+        var encoded = encoder.encode(Flux.fromIterable(taskDtos), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_STREAM_SMILE, Map.of());
+
+        StepVerifier.create(decoder.decode(encoded, taskType, CodecConfig.APPLICATION_STREAM_SMILE, Map.of()))
+                .expectNextSequence(taskDtos)
+                .verifyComplete();
+    }
+
+    @Test
+    void datesAndStatusesAreEncodedCompactly() throws IOException {
+        var smile = CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json()).writeValueAsBytes(taskDto);
+        var json = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()
+                .writeValueAsBytes(taskDto);
+        var tree = CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json()).readTree(smile);
+
+        Assertions.assertTrue(tree.get("creationDate").isArray());
+        Assertions.assertTrue(tree.get("taskStatus").isInt());
+        Assertions.assertTrue(smile.length < json.length);
+    }
+
+    @Test
+    void statusNamesAreStillAccepted() throws IOException {
+        var objectMapper = CodecConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+        var encodedWithNames = Jackson2ObjectMapperBuilder.smile().build().writeValueAsBytes(taskDto);
+
+        Assertions.assertEquals(taskDto, objectMapper.readValue(encodedWithNames, TaskDto.class));
+    }
+
+    @Test
+    void repeatedFieldNamesAreShared() {
+        var single = DataBufferUtils.join(encoder.encode(Mono.just(taskDto), DefaultDataBufferFactory.sharedInstance, taskType,
+                CodecConfig.APPLICATION_SMILE, Map.of())).block().readableByteCount();
+        var hundred = DataBufferUtils.join(encoder.encode(Flux.range(0, 100).map(i -> taskDto), DefaultDataBufferFactory.sharedInstance,
+                taskType, CodecConfig.APPLICATION_SMILE, Map.of())).block().readableByteCount();
+
+        Assertions.assertTrue(hundred < single * 100 * 0.8);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todolist.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ConcurrencyLimitFilterTest {
+    private static final String TASK_PATH = "/tasks/65a0f1c2e4b0a1b2c3d4e5f6";
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    TaskProperties taskProperties = new TaskProperties();
+    List<Sinks.Empty<Void>> pending = new ArrayList<>();
+    List<Disposable> subscriptions = new ArrayList<>();
+
+    @Test
+    void writesAreRejectedBeforeReservedReads() {
+        var filter = filter(3, 1);
+
+        Assertions.assertNull(send(filter, MockServerHttpRequest.post("/tasks")));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.put(TASK_PATH)));
+        var rejected = send(filter, MockServerHttpRequest.post("/tasks"));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get(TASK_PATH)));
+        var rejectedRead = send(filter, MockServerHttpRequest.get(TASK_PATH));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        Assertions.assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejectedRead.getResponse().getStatusCode());
+        Assertions.assertEquals(1, rejectedCount("POST /tasks", "global"));
+        Assertions.assertEquals(1, rejectedCount("GET /tasks/{id}", "global"));
+        Assertions.assertEquals(3, meterRegistry.get("tasks.limit.inflight").tag("route", "all").gauge().value());
+    }
+
+    @Test
+    void completedRequestsReleaseTheirSlots() {
+        var filter = filter(2, 0);
+        send(filter, MockServerHttpRequest.post("/tasks"));
+        send(filter, MockServerHttpRequest.post("/tasks"));
+        Assertions.assertNotNull(send(filter, MockServerHttpRequest.post("/tasks")));
+
+        pending.get(0).tryEmitEmpty();
+        subscriptions.get(1).dispose();
+
+        Assertions.assertNull(send(filter, MockServerHttpRequest.post("/tasks")));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.post("/tasks")));
+        Assertions.assertEquals(2, meterRegistry.get("tasks.limit.inflight").tag("route", "POST /tasks").gauge().value());
+    }
+
+    @Test
+    void routeLimitIsAppliedPerRoute() {
+        var filter = filter(2, 0, 10);
+        send(filter, MockServerHttpRequest.post("/tasks"));
+        send(filter, MockServerHttpRequest.post("/tasks"));
+
+        var rejected = send(filter, MockServerHttpRequest.post("/tasks"));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        Assertions.assertEquals(1, rejectedCount("POST /tasks", "route"));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get(TASK_PATH)));
+        Assertions.assertEquals(3, meterRegistry.get("tasks.limit.inflight").tag("route", "all").gauge().value());
+    }
+
+    @Test
+    void listRoutesAreLimitedByPattern() {
+        var filter = filter(1, 0, 10);
+        send(filter, MockServerHttpRequest.post("/lists/list-1/tasks"));
+
+        var rejected = send(filter, MockServerHttpRequest.post("/lists/list-2/tasks"));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        Assertions.assertEquals(1, rejectedCount("POST /lists/{listId}/tasks", "route"));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get("/lists/list-1" + TASK_PATH)));
+        Assertions.assertNotNull(send(filter, MockServerHttpRequest.get("/lists/list-2" + TASK_PATH)));
+    }
+
+    @Test
+    void excludedAndOtherPathsAreNotLimited() {
+        var filter = filter(1, 0);
+        send(filter, MockServerHttpRequest.post("/tasks"));
+
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get("/tasks/events")));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get("/tasks/export")));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.post("/tasks/import")));
+        Assertions.assertNull(send(filter, MockServerHttpRequest.get("/actuator/health")));
+    }
+
+    @Test
+    void disabledFilterDoesNotLimit() {
+        taskProperties.getLimit().setEnabled(false);
+        var filter = filter(1, 0);
+
+        send(filter, MockServerHttpRequest.post("/tasks"));
+
+        Assertions.assertNull(send(filter, MockServerHttpRequest.post("/tasks")));
+    }
+
+    private ConcurrencyLimitFilter filter(int limit, int readReserve) {
+        return filter(limit, readReserve, limit);
+    }
+
+    private ConcurrencyLimitFilter filter(int limit, int readReserve, int globalLimit) {
+        taskProperties.getLimit().setInitialLimit(limit);
+        taskProperties.getLimit().setMinLimit(limit);
+        taskProperties.getLimit().setMaxLimit(limit);
+        taskProperties.getLimit().setGlobalInitialLimit(globalLimit);
+        taskProperties.getLimit().setGlobalMaxLimit(globalLimit);
+        taskProperties.getLimit().setReadReserve(readReserve);
+        return new ConcurrencyLimitFilter(taskProperties, meterRegistry);
+    }
+
+    private MockServerWebExchange send(ConcurrencyLimitFilter filter, MockServerHttpRequest.BaseBuilder<?> request) {
+        var exchange = MockServerWebExchange.from(request);
+        var result = Sinks.<Void>empty();
+        var handled = new boolean[1];
+        subscriptions.add(filter.filter(exchange, ignored -> {
+            handled[0] = true;
+            return result.asMono();
+        }).subscribe());
+        pending.add(result);
+        return handled[0] ? null : exchange;
+    }
+
+    private double rejectedCount(String route, String limit) {
+        return meterRegistry.get("tasks.limit.rejected").tag("route", route).tag("limit", limit).counter().count();
+    }
+}
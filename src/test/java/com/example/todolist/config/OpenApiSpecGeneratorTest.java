@@ -0,0 +1,35 @@
+package com.example.todolist.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenApiSpecGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void specIsGeneratedWithoutWritingToWorkingDirectory() throws IOException {
+        var workingDirectory = Path.of("").toAbsolutePath();
+        var before = entries(workingDirectory);
+        var output = directory.resolve("openapi/api-docs.json");
+
+        OpenApiSpecGenerator.main(new String[]{output.toString()});
+
+        assertThat(output).content().contains("\"openapi\"").doesNotContain("\"servers\"");
+        assertThat(entries(workingDirectory)).isEqualTo(before);
+    }
+
+    private static List<String> entries(Path directory) throws IOException {
+        try (var entries = Files.list(directory)) {
+            return entries.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.todolist.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+@TestPropertySource(properties = "tasks.embedded.directory=target/static-api-docs-tests")
+class StaticApiDocsConfigTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void staticSpecMatchesRuntimeSpec() throws IOException {
+        var spec = new ClassPathResource(StaticApiDocsConfig.SPEC_LOCATION);
+        assertThat(spec.exists()).as("%s is generated by the build before tests run", StaticApiDocsConfig.SPEC_LOCATION).isTrue();
+
+        var runtimeSpec = client.get().uri("/v1/api-docs")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(OpenApiSpecGenerator.normalize(spec.getContentAsString(StandardCharsets.UTF_8)))
+                .isEqualTo(OpenApiSpecGenerator.normalize(runtimeSpec));
+    }
+
+    @Test
+    void staticSpecIsServed() throws IOException {
+        var spec = new ClassPathResource(StaticApiDocsConfig.SPEC_LOCATION);
+        var staticClient = WebTestClient.bindToRouterFunction(StaticApiDocsConfig.staticApiDocs("/v1/api-docs", spec)).build();
+
+        staticClient.get().uri("/v1/api-docs")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class)
+                .isEqualTo(spec.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void missingStaticSpecIsNotFound() {
+        var staticClient = WebTestClient.bindToRouterFunction(
+                StaticApiDocsConfig.staticApiDocs("/v1/api-docs", new ClassPathResource("openapi/missing.json"))).build();
+
+        staticClient.get().uri("/v1/api-docs")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
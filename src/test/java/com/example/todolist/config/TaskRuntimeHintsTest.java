@@ -0,0 +1,28 @@
+package com.example.todolist.config;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class TaskRuntimeHintsTest {
+    RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void taskTypesAreBoundByReflection() {
+        new TaskRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        var reflection = RuntimeHintsPredicates.reflection();
+        Assertions.assertTrue(reflection.onType(Task.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        Assertions.assertTrue(reflection.onMethod(Task.class, "setTaskStatus").test(hints));
+        Assertions.assertTrue(reflection.onType(TaskDto.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        Assertions.assertTrue(reflection.onMethod(TaskDto.class, "getListId").test(hints));
+        Assertions.assertTrue(reflection.onMethod(TaskPatchDto.class, "getTitle").test(hints));
+        Assertions.assertTrue(reflection.onType(TaskStatus.class).test(hints));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todolist.config;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+class TimedJackson2JsonEncoderTest {
+    TaskDto taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.of(2024, 1, 2, 2, 2), TaskStatus.CREATED, 0L, null);
+    Timer timer = Timer.builder("tasks.stage").tag("stage", "encoding").register(new SimpleMeterRegistry());
+    TimedJackson2JsonEncoder encoder = new TimedJackson2JsonEncoder(Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(), timer);
+
+    @Test
+    void encodingSingleTaskIsTimedOnce() {
+        var result = encoder.encode(Mono.just(taskDto), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(TaskDto.class), MediaType.APPLICATION_JSON, Map.of());
+
+        StepVerifier.create(DataBufferUtils.join(result).map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .assertNext(json -> Assertions.assertTrue(json.contains("\"creationDate\":\"2024-01-02T02:02:00\"")))
+                .verifyComplete();
+        Assertions.assertEquals(1, timer.count());
+    }
+
+    @Test
+    void encodingStreamIsTimedPerTask() {
+        var result = encoder.encode(Flux.just(taskDto, taskDto, taskDto), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(TaskDto.class), MediaType.APPLICATION_NDJSON, Map.of());
+
+        StepVerifier.create(result).expectNextCount(3).verifyComplete();
+        Assertions.assertEquals(3, timer.count());
+    }
+
+    @Test
+    void encodingArrayIsTimedPerTask() {
+        var result = encoder.encode(Flux.just(taskDto, taskDto), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(TaskDto.class), MediaType.APPLICATION_JSON, Map.of());
+
+        StepVerifier.create(result).thenConsumeWhile(buffer -> true).verifyComplete();
+        Assertions.assertEquals(2, timer.count());
+    }
+
+    @Test
+    void idsAreRemovedFromUriTag() {
+        Assertions.assertEquals("/tasks/{id}", MetricsConfig.uriTag("/tasks/65a0f1c2e4b0a1b2c3d4e5f6?x=1"));
+        Assertions.assertEquals("/tasks/stats", MetricsConfig.uriTag("/tasks/stats"));
+        Assertions.assertEquals("/lists/{listId}/tasks", MetricsConfig.uriTag("/lists/list-1/tasks?limit=10"));
+        Assertions.assertEquals("/lists/{listId}/tasks/{id}", MetricsConfig.uriTag("/lists/65a0f1c2e4b0a1b2c3d4e5f6/tasks/65a0f1c2e4b0a1b2c3d4e5f6"));
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.todolist.load;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LoadGenerator {
+    private static final Duration TICK = Duration.ofMillis(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SEED_BATCH_SIZE = 500;
+
+    WebClient webClient;
+    LoadTestSettings settings;
+    LoadOperation[] operations;
+    int[] cumulativeWeights;
+    List<String> ids = new ArrayList<>();
+
+    public LoadGenerator(String baseUrl, LoadTestSettings settings) {
+        var connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(settings.getConcurrency())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        this.settings = settings;
+        this.operations = settings.getMix().keySet().toArray(LoadOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        var sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += settings.getMix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public LoadTestReport run() {
+        var startedAt = Instant.now();
+        seed();
+        runPhase(settings.getWarmup());
+        var recording = runPhase(settings.getDuration());
+        return recording.report(startedAt);
+    }
+
+    private void seed() {
+        Flux.range(0, settings.getSeedTasks())
+                .map(i -> newTask())
+                .buffer(SEED_BATCH_SIZE)
+                .concatMap(batch -> webClient.post().uri("/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .bodyValue(batch)
+                        .retrieve()
+                        .bodyToFlux(Map.class))
+                .mapNotNull(result -> (String) result.get("id"))
+                .doOnNext(this::addId)
+                .blockLast(DRAIN_TIMEOUT);
+    }
+
+    private Recording runPhase(Duration duration) {
+        var recording = new Recording();
+        if (duration.isZero()) {
+            return recording;
+        }
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRatePerSecond();
+        var arrivals = duration.toNanos() / intervalNanos;
+        var start = System.nanoTime();
+        var next = new long[1];
+        Flux.interval(TICK)
+                .onBackpressureBuffer()
+                .takeWhile(tick -> next[0] < arrivals)
+                .concatMapIterable(tick -> {
+                    var now = System.nanoTime();
+                    var due = new ArrayList<Long>();
+                    while (next[0] < arrivals && start + next[0] * intervalNanos <= now) {
+                        due.add(start + next[0] * intervalNanos);
+                        next[0]++;
+                    }
+                    return due;
+                })
+                .flatMap(intendedStart -> {
+                    var operation = nextOperation();
+                    return execute(operation)
+                            .map(HttpStatusCode::is5xxServerError)
+                            .onErrorReturn(true)
+                            .doOnNext(failed -> recording.record(operation, System.nanoTime() - intendedStart, failed));
+                }, settings.getConcurrency())
+                .blockLast(duration.plus(DRAIN_TIMEOUT));
+        recording.finish(System.nanoTime() - start);
+        return recording;
+    }
+
+    private LoadOperation nextOperation() {
+        var value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Mono<HttpStatusCode> execute(LoadOperation operation) {
+        var id = switch (operation) {
+            case GET, UPDATE -> randomId();
+            case DELETE -> takeRandomId();
+            case CREATE, LIST -> null;
+        };
+        if (id == null && operation != LoadOperation.LIST) {
+            return create();
+        }
+        return switch (operation) {
+            case GET -> webClient.get().uri("/tasks/{id}", id).exchangeToMono(LoadGenerator::status);
+            case UPDATE -> webClient.put().uri("/tasks/{id}", id).bodyValue(newTask()).exchangeToMono(LoadGenerator::status);
+            case DELETE -> webClient.delete().uri("/tasks/{id}", id).exchangeToMono(LoadGenerator::status);
+            case LIST -> webClient.get().uri("/tasks?limit=50").exchangeToMono(LoadGenerator::status);
+            case CREATE -> create();
+        };
+    }
+
+    private Mono<HttpStatusCode> create() {
+        return webClient.post().uri("/tasks")
+                .bodyValue(newTask())
+                .exchangeToMono(response -> response.bodyToMono(TaskDto.class)
+                        .doOnNext(task -> addId(task.getId()))
+                        .then(Mono.just(response.statusCode())));
+    }
+
+    private static Mono<HttpStatusCode> status(ClientResponse response) {
+        return response.releaseBody().thenReturn(response.statusCode());
+    }
+
+    private static TaskDto newTask() {
+        var random = ThreadLocalRandom.current();
+        var statuses = TaskStatus.values();
+        return new TaskDto(null, "Load test task " + random.nextInt(1_000_000), "Created by the load generator",
+                LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 30)), statuses[random.nextInt(statuses.length)], null, null);
+    }
+
+    private synchronized void addId(String id) {
+        ids.add(id);
+    }
+
+    private synchronized String randomId() {
+        return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private synchronized String takeRandomId() {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        var index = ThreadLocalRandom.current().nextInt(ids.size());
+        var id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private class Recording {
+        final Histogram total = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+        final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+        long elapsedNanos;
+
+        Recording() {
+            for (var operation : LoadOperation.values()) {
+                histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        void record(LoadOperation operation, long latencyNanos, boolean failed) {
+            var micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+            total.recordValue(micros);
+            histograms.get(operation).recordValue(micros);
+            if (failed) {
+                errors.get(operation).increment();
+            }
+        }
+
+        void finish(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        LoadTestReport report(Instant startedAt) {
+            var summaries = new EnumMap<LoadOperation, LoadTestReport.LatencySummary>(LoadOperation.class);
+            var totalErrors = 0L;
+            for (var operation : LoadOperation.values()) {
+                var operationErrors = errors.get(operation).sum();
+                totalErrors += operationErrors;
+                if (histograms.get(operation).getTotalCount() > 0) {
+                    summaries.put(operation, summary(histograms.get(operation), operationErrors));
+                }
+            }
+            var seconds = elapsedNanos / 1e9;
+            return new LoadTestReport(settings.getLabel(), startedAt, settings, seconds, total.getTotalCount(), totalErrors,
+                    seconds == 0 ? 0 : total.getTotalCount() / seconds, summary(total, totalErrors), summaries);
+        }
+
+        private LoadTestReport.LatencySummary summary(Histogram histogram, long errorCount) {
+            return new LoadTestReport.LatencySummary(histogram.getTotalCount(), errorCount,
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
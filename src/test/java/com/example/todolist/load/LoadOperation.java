@@ -0,0 +1,5 @@
+package com.example.todolist.load;
+
+public enum LoadOperation {
+    CREATE, GET, UPDATE, DELETE, LIST
+}
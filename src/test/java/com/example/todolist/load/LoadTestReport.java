@@ -0,0 +1,30 @@
+package com.example.todolist.load;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+public class LoadTestReport {
+    String label;
+    Instant startedAt;
+    LoadTestSettings settings;
+    double durationSeconds;
+    long requests;
+    long errors;
+    double throughput;
+    LatencySummary total;
+    Map<LoadOperation, LatencySummary> operations;
+
+    @Value
+    public static class LatencySummary {
+        long count;
+        long errors;
+        double meanMillis;
+        double p50Millis;
+        double p99Millis;
+        double p999Millis;
+        double maxMillis;
+    }
+}
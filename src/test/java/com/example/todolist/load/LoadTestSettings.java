@@ -0,0 +1,51 @@
+package com.example.todolist.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Value
+public class LoadTestSettings {
+    Duration warmup;
+    Duration duration;
+    int ratePerSecond;
+    int concurrency;
+    int seedTasks;
+    Map<LoadOperation, Integer> mix;
+    String label;
+    String output;
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Duration.parse(System.getProperty("loadtest.warmup", "PT5S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                Integer.getInteger("loadtest.rate", 500),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.seed-tasks", 1000),
+                parseMix(System.getProperty("loadtest.mix", "create=20,get=50,update=15,delete=5,list=10")),
+                System.getProperty("loadtest.label", "local"),
+                System.getProperty("loadtest.output", "target/load-test/report.json"));
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<LoadOperation, Integer>(LoadOperation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Operation mix entry must be operation=weight: " + entry);
+            }
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Operation weight cannot be negative: " + entry);
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Operation mix cannot be empty");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todolist.load;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.data.mongodb.port=0", "de.flapdoodle.mongodb.embedded.version=7.0.14"})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TaskLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void runLoad() throws IOException {
+        var settings = LoadTestSettings.fromSystemProperties();
+
+        var report = new LoadGenerator("http://localhost:" + port, settings).run();
+
+        var output = Path.of(settings.getOutput());
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .indentOutput(true)
+                .build()
+                .writeValue(output.toFile(), report);
+        System.out.printf("%s: %d requests, %.1f req/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms, %d errors, report %s%n",
+                report.getLabel(), report.getRequests(), report.getThroughput(), report.getTotal().getP50Millis(),
+                report.getTotal().getP99Millis(), report.getTotal().getP999Millis(), report.getErrors(), output.toAbsolutePath());
+
+        assertThat(report.getRequests()).isPositive();
+    }
+}
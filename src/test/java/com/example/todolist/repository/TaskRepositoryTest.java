@@ -0,0 +1,91 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskRepositoryTest {
+
+    @Autowired
+    ReactiveMongoTemplate mongoTemplate;
+
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+
+    @BeforeEach
+    void ensureIndexes() {
+        var indexOperations = mongoTemplate.indexOps(Task.class);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Task.class)
+                .forEach(index -> indexOperations.ensureIndex(index).block());
+    }
+
+    @Test
+    void statusAndDateRangeUseIndex() {
+        var filter = new TaskFilter(null, TaskStatus.FINISHED, dateTime.minusDays(7), dateTime, Sort.Direction.DESC);
+
+        var winningPlan = winningPlan(TaskRepositoryCustomImpl.filterQuery(filter));
+
+        assertThat(winningPlan).contains("taskStatus_creationDate_id").doesNotContain("COLLSCAN").doesNotContain("\"SORT\"");
+    }
+
+    @Test
+    void dateRangeUsesIndex() {
+        var filter = new TaskFilter(null, null, dateTime.minusDays(7), null, Sort.Direction.ASC);
+
+        var winningPlan = winningPlan(TaskRepositoryCustomImpl.filterQuery(filter));
+
+        assertThat(winningPlan).contains("IXSCAN").doesNotContain("COLLSCAN").doesNotContain("\"SORT\"");
+    }
+
+    @Test
+    void statusUsesIndex() {
+        var filter = new TaskFilter(null, TaskStatus.CREATED, null, null, null);
+
+        var winningPlan = winningPlan(TaskRepositoryCustomImpl.filterQuery(filter));
+
+        assertThat(winningPlan).contains("taskStatus_creationDate_id").doesNotContain("COLLSCAN");
+    }
+
+    @Test
+    void listUsesIndex() {
+        var filter = new TaskFilter("list-1", null, dateTime.minusDays(7), null, Sort.Direction.DESC);
+
+        var winningPlan = winningPlan(TaskRepositoryCustomImpl.filterQuery(filter));
+
+        assertThat(winningPlan).contains("listId_creationDate_id").doesNotContain("COLLSCAN").doesNotContain("\"SORT\"");
+    }
+
+    @Test
+    void archivableUsesIndex() {
+        var winningPlan = winningPlan(TaskRepositoryCustomImpl.archivableQuery(dateTime));
+
+        assertThat(winningPlan).contains("taskStatus_creationDate_id").doesNotContain("COLLSCAN").doesNotContain("\"SORT\"");
+    }
+
+    String winningPlan(Query query) {
+        var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Task.class);
+        var queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        var filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        var sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        var explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class))
+                .flatMap(collection -> Mono.from(collection.find(filter).sort(sort).explain(Document.class)))
+                .block();
+        assertThat(explain).isNotNull();
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+    }
+}
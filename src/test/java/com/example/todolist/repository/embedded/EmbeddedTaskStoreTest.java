@@ -0,0 +1,199 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class EmbeddedTaskStoreTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesAreReplayedAfterRestart() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(task("1", "First", 0L));
+        store.put(task("2", "Second", 0L));
+        store.put(task("1", "First changed", 1L));
+        store.remove("2");
+        store.close();
+
+        var reopened = open(DataSize.ofMegabytes(1));
+
+        Assertions.assertEquals(List.of(task("1", "First changed", 1L)), reopened.all().toList());
+        reopened.close();
+    }
+
+    @Test
+    void clearIsReplayed() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(task("1", "First", 0L));
+        store.clear();
+        store.put(task("2", "Second", 0L));
+        store.close();
+
+        var reopened = open(DataSize.ofMegabytes(1));
+
+        Assertions.assertEquals(List.of(task("2", "Second", 0L)), reopened.all().toList());
+        reopened.close();
+    }
+
+    @Test
+    void fullSegmentIsRotated() throws IOException {
+        var store = open(DataSize.ofBytes(256));
+        for (int i = 0; i < 20; i++) {
+            store.put(task(String.valueOf(i), "Task " + i, 0L));
+        }
+        store.close();
+
+        Assertions.assertTrue(logFiles().size() > 1);
+        var reopened = open(DataSize.ofBytes(256));
+        Assertions.assertEquals(20, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void compactionWritesSnapshotAndRemovesOldSegments() throws IOException {
+        var store = open(DataSize.ofBytes(512));
+        for (int i = 0; i < 10; i++) {
+            store.put(task("1", "Task " + i, (long) i));
+        }
+        store.put(task("2", "Other", 0L));
+
+        store.compact();
+        store.put(task("3", "After snapshot", 0L));
+        store.close();
+
+        try (var files = Files.list(directory)) {
+            Assertions.assertEquals(1, files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).count());
+        }
+        Assertions.assertEquals(1, logFiles().size());
+        var reopened = open(DataSize.ofBytes(512));
+        Assertions.assertEquals(List.of(task("1", "Task 9", 9L), task("2", "Other", 0L), task("3", "After snapshot", 0L)),
+                reopened.all().toList());
+        reopened.close();
+    }
+
+    @Test
+    void compactionIsSkippedWithoutGarbage() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(task("1", "First", 0L));
+        store.put(task("2", "Second", 0L));
+
+        store.compact();
+        store.close();
+
+        try (var files = Files.list(directory)) {
+            Assertions.assertTrue(files.noneMatch(path -> path.getFileName().toString().startsWith("snapshot-")));
+        }
+    }
+
+    @Test
+    void tornRecordAtTheEndIsIgnored() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(task("1", "First", 0L));
+        store.put(task("2", "Second", 0L));
+        store.close();
+        var log = logFiles().get(0);
+        var firstRecordLength = TaskRecordCodec.put(task("1", "First", 0L)).remaining();
+        try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), firstRecordLength + 10);
+        }
+
+        var reopened = open(DataSize.ofMegabytes(1));
+        reopened.put(task("3", "Third", 0L));
+        reopened.close();
+
+        var replayed = open(DataSize.ofMegabytes(1));
+        Assertions.assertEquals(List.of(task("1", "First", 0L), task("3", "Third", 0L)), replayed.all().toList());
+        replayed.close();
+    }
+
+    @Test
+    void returnedTasksAreCopies() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        var task = task("1", "First", 0L);
+        store.put(task);
+
+        task.setTitle("Changed");
+        store.get("1").setTitle("Changed");
+
+        Assertions.assertEquals("First", store.get("1").getTitle());
+        store.close();
+    }
+
+    @Test
+    void tasksAreOrderedByCreationDate() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(new Task("a", "Later", null, dateTime.plusDays(1), TaskStatus.CREATED, 0L, null));
+        store.put(new Task("b", "Earlier", null, dateTime, TaskStatus.CREATED, 0L, null));
+        store.put(new Task("c", "Earlier", null, dateTime, TaskStatus.CREATED, 0L, null));
+
+        Assertions.assertEquals(List.of("b", "c", "a"), store.byCreationDate(null, null, true).map(Task::getId).toList());
+        Assertions.assertEquals(List.of("c", "b"), store.byCreationDate(null, new TaskSortKey(dateTime.plusDays(1), "a"), false)
+                .map(Task::getId).toList());
+        store.close();
+    }
+
+    @Test
+    void tasksAreIndexedByList() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(new Task("a", "First", null, dateTime, TaskStatus.CREATED, 0L, "list-1"));
+        store.put(new Task("b", "Second", null, dateTime.plusDays(1), TaskStatus.CREATED, 0L, "list-1"));
+        store.put(new Task("c", "Other", null, dateTime, TaskStatus.CREATED, 0L, "list-2"));
+        store.put(new Task("d", "None", null, dateTime, TaskStatus.CREATED, 0L, null));
+        store.remove("a");
+
+        Assertions.assertEquals(List.of("b"), store.byCreationDate("list-1", null, true).map(Task::getId).toList());
+        Assertions.assertEquals(1, store.size("list-2"));
+        Assertions.assertEquals(List.of("d"), store.byCreationDate(null, null, true).map(Task::getId).toList());
+        Assertions.assertEquals(0, store.size("list-3"));
+        Assertions.assertEquals(List.of("b"), store.createdFrom(dateTime.plusHours(1)).map(Task::getId).toList());
+        Assertions.assertEquals(2, store.createdBefore(dateTime.plusHours(1)).count());
+        store.close();
+    }
+
+    @Test
+    void tasksAreStreamedAfterId() throws IOException {
+        var store = open(DataSize.ofMegabytes(1));
+        store.put(task("b", "Second", 0L));
+        store.put(task("c", "Third", 0L));
+        store.put(task("a", "First", 0L));
+
+        Assertions.assertEquals(List.of("a", "b", "c"), store.afterId(null).map(Task::getId).toList());
+        Assertions.assertEquals(List.of("c"), store.afterId("b").map(Task::getId).toList());
+        store.close();
+    }
+
+    private EmbeddedTaskStore open(DataSize segmentSize) throws IOException {
+        var properties = new TaskProperties();
+        properties.getEmbedded().setDirectory(directory);
+        properties.getEmbedded().setSegmentSize(segmentSize);
+        properties.getEmbedded().setCompactionMinRecords(1);
+        return new EmbeddedTaskStore(properties);
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("log-")).sorted().toList();
+        }
+    }
+
+    private Task task(String id, String title, Long version) {
+        return new Task(id, title, "Description", dateTime, TaskStatus.CREATED, version, null);
+    }
+}
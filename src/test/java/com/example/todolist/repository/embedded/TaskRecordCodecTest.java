@@ -0,0 +1,49 @@
+package com.example.todolist.repository.embedded;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+class TaskRecordCodecTest {
+
+    @Test
+    void putRoundTrip() {
+        var task = new Task("65a0f1c2e4b0a1b2c3d4e5f6", "Zadanie ż", "Opis", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_789),
+                TaskStatus.IN_PROGRESS, 42L, "list-1");
+
+        var record = TaskRecordCodec.decode(TaskRecordCodec.put(task), 0);
+
+        Assertions.assertEquals(TaskRecord.Type.PUT, record.getType());
+        Assertions.assertEquals(task, record.getTask());
+    }
+
+    @Test
+    void putRoundTripWithoutOptionalFields() {
+        var task = new Task("1", null, null, null, null, null, null);
+
+        var record = TaskRecordCodec.decode(TaskRecordCodec.put(task), 0);
+
+        Assertions.assertEquals(task, record.getTask());
+    }
+
+    @Test
+    void deleteAndClearRoundTrip() {
+        Assertions.assertEquals(new TaskRecord(TaskRecord.Type.DELETE, "1", null), TaskRecordCodec.decode(TaskRecordCodec.delete("1"), 0));
+        Assertions.assertEquals(new TaskRecord(TaskRecord.Type.CLEAR, null, null), TaskRecordCodec.decode(TaskRecordCodec.clear(), 0));
+    }
+
+    @Test
+    void corruptedRecordIsRejected() {
+        var buffer = TaskRecordCodec.put(new Task("1", "Test Task", "Description", LocalDateTime.of(2024, 1, 2, 2, 2), TaskStatus.CREATED, 0L, null));
+        var length = buffer.remaining();
+        Assertions.assertEquals(length, TaskRecordCodec.frameLength(buffer, 0, length));
+
+        buffer.put(6, (byte) (buffer.get(6) + 1));
+
+        Assertions.assertEquals(-1, TaskRecordCodec.frameLength(buffer, 0, length));
+        Assertions.assertEquals(-1, TaskRecordCodec.frameLength(buffer, 0, length - 1));
+    }
+}
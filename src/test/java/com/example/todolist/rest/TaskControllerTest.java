@@ -1,23 +1,39 @@
 package com.example.todolist.rest;
 
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskBulkResultDto;
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskStatsDto;
+import com.example.todolist.dto.TaskSuggestionDto;
 import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.service.TaskCollectionVersion;
 import com.example.todolist.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,65 +42,187 @@ class TaskControllerTest {
     @Mock
     TaskService taskService;
 
+    @Spy
+    TaskCollectionVersion taskCollectionVersion = new TaskCollectionVersion(null, new TaskProperties());
+
     @InjectMocks
     TaskController taskController;
 
 
     @Test
     void createTask() {
-        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED);
-        when(taskService.createTask(any(TaskDto.class))).thenReturn(Mono.just(taskDto));
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+        when(taskService.createTask(isNull(), any(TaskDto.class))).thenReturn(Mono.just(taskDto));
 
         var result = taskController.createTask(taskDto);
 
         assertEquals(taskDto, result.block());
-        verify(taskService).createTask(taskDto);
+        verify(taskService).createTask(null, taskDto);
     }
 
     @Test
-    void getAllTasks() {
-        var tasks = List.of(new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED),
-                new TaskDto("2", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED));
+    void createTasks() {
+        var taskDtos = Flux.just(new TaskDto(null, "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null));
+        var results = List.of(TaskBulkResultDto.created(0, "1"));
+        when(taskService.createTasks(taskDtos)).thenReturn(Flux.fromIterable(results));
 
-        when(taskService.getAllTasks()).thenReturn(Flux.fromIterable(tasks));
-        var result = taskController.getAllTasks();
+        var result = taskController.createTasks(taskDtos);
 
         StepVerifier.create(result)
+                .expectNext(results.get(0))
+                .verifyComplete();
+        verify(taskService).createTasks(taskDtos);
+    }
+
+    @Test
+    void getAllTasks() {
+        var tasks = List.of(new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null),
+                new TaskDto("2", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null));
+
+        when(taskService.getAllTasks(null, TaskStatus.CREATED, null, null, "creationDate", null, false)).thenReturn(Flux.fromIterable(tasks));
+        var result = taskController.getAllTasks(TaskStatus.CREATED, null, null, "creationDate", null, false,
+                MockServerHttpRequest.get("/tasks?status=CREATED&sort=creationDate").build());
+
+        assertTrue(result.getHeaders().getETag().startsWith("\"" + taskCollectionVersion.getVersion(null) + "-"));
+        assertEquals(taskCollectionVersion.getLastModified(null).toEpochMilli() / 1000 * 1000, result.getHeaders().getLastModified());
+        StepVerifier.create(result.getBody())
                 .expectNext(tasks.get(0))
                 .expectNext(tasks.get(1))
                 .verifyComplete();
 
     }
 
+    @Test
+    void getAllTasksETagChangesWithCollectionAndVariant() {
+        var request = MockServerHttpRequest.get("/tasks?status=CREATED").build();
+        var eTag = taskController.getAllTasks(TaskStatus.CREATED, null, null, null, null, false, request).getHeaders().getETag();
+
+        assertEquals(eTag, taskController.getAllTasks(TaskStatus.CREATED, null, null, null, null, false, request).getHeaders().getETag());
+        assertNotEquals(eTag, taskController.getAllTasks(null, null, null, null, null, false,
+                MockServerHttpRequest.get("/tasks").build()).getHeaders().getETag());
+        taskCollectionVersion.changed("list-1");
+        assertNotEquals(eTag, taskController.getAllTasks(TaskStatus.CREATED, null, null, null, null, false, request).getHeaders().getETag());
+    }
+
+    @Test
+    void getTasksPage() {
+        var page = new TaskPageDto(List.of(new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null)), "next");
+        when(taskService.getTasksPage(null, 1, "after", null, null, null, null, null)).thenReturn(Mono.just(page));
+
+        var result = taskController.getTasksPage(1, "after", null, null, null, null, null,
+                MockServerHttpRequest.get("/tasks?limit=1&after=after").build());
+
+        assertNotNull(result.getHeaders().getETag());
+        assertEquals(page, result.getBody().block());
+        verify(taskService).getTasksPage(null, 1, "after", null, null, null, null, null);
+    }
+
+    @Test
+    void suggestTasks() {
+        var suggestion = new TaskSuggestionDto("1", "Buy milk");
+        when(taskService.suggestTasks(null, "buy", 5)).thenReturn(Flux.just(suggestion));
+
+        var result = taskController.suggestTasks("buy", 5);
+
+        StepVerifier.create(result).expectNext(suggestion).verifyComplete();
+    }
+
+    @Test
+    void getTaskStats() {
+        var stats = new TaskStatsDto(Map.of(TaskStatus.CREATED, 2L), Map.of(LocalDate.of(2024, 1, 2), 2L));
+        when(taskService.getTaskStats()).thenReturn(Mono.just(stats));
+
+        var result = taskController.getTaskStats();
+
+        StepVerifier.create(result).expectNext(stats).verifyComplete();
+    }
+
+    @Test
+    void getTaskEvents() {
+        var event = TaskEventDto.deleted("1", null);
+        when(taskService.getTaskEvents(null, TaskStatus.CREATED)).thenReturn(Flux.just(event));
+
+        var result = taskController.getTaskEvents(TaskStatus.CREATED);
+
+        StepVerifier.create(result)
+                .assertNext(serverSentEvent -> {
+                    assertEquals("DELETED", serverSentEvent.event());
+                    assertEquals(event, serverSentEvent.data());
+                })
+                .assertNext(serverSentEvent -> {
+                    assertEquals("subscribed", serverSentEvent.comment());
+                    assertNull(serverSentEvent.data());
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getTaskById() {
-        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED);
-        when(taskService.getTaskById("1")).thenReturn(Mono.just(taskDto));
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, 2L, null);
+        when(taskService.getTaskById(null, "1", null)).thenReturn(Mono.just(taskDto));
 
-        var result = taskController.getTaskById("1");
+        var result = taskController.getTaskById("1", null).block();
 
-        assertEquals(taskDto, result.block());
-        verify(taskService).getTaskById("1");
+        assertNotNull(result);
+        assertEquals(taskDto, result.getBody());
+        assertEquals("\"2\"", result.getHeaders().getETag());
+        verify(taskService).getTaskById(null, "1", null);
+    }
+
+    @Test
+    void getTaskByIdNoResult() {
+        when(taskService.getTaskById(null, "1", null)).thenReturn(Mono.empty());
+
+        var result = taskController.getTaskById("1", null).block();
+
+        assertNotNull(result);
+        assertNull(result.getBody());
+        assertNull(result.getHeaders().getETag());
     }
 
     @Test
     void updateTaskById() {
-        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED);
-        when(taskService.updateTaskById("1", taskDto)).thenReturn(Mono.just(taskDto));
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, 3L, null);
+        when(taskService.updateTaskById(null, "1", taskDto, 2L)).thenReturn(Mono.just(taskDto));
 
-        var result = taskController.updateTaskById("1", taskDto);
+        var result = taskController.updateTaskById("1", taskDto, "\"2\"").block();
 
-        assertEquals(taskDto, result.block());
-        verify(taskService).updateTaskById("1", taskDto);
+        assertNotNull(result);
+        assertEquals(taskDto, result.getBody());
+        assertEquals("\"3\"", result.getHeaders().getETag());
+        verify(taskService).updateTaskById(null, "1", taskDto, 2L);
+    }
+
+    @Test
+    void updateTaskByIdWithWrongIfMatch() {
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+
+        var exception = assertThrows(ResponseStatusException.class, () -> taskController.updateTaskById("1", taskDto, "W/\"2\""));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void patchTaskById() {
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.FINISHED, 1L, null);
+        when(taskService.patchTaskById(null, "1", taskPatchDto, null)).thenReturn(Mono.just(taskDto));
+
+        var result = taskController.patchTaskById("1", taskPatchDto, null).block();
+
+        assertNotNull(result);
+        assertEquals(taskDto, result.getBody());
+        verify(taskService).patchTaskById(null, "1", taskPatchDto, null);
     }
 
     @Test
     void deleteTaskById() {
-        when(taskService.deleteTaskById("1")).thenReturn(Mono.empty());
+        when(taskService.deleteTaskById(null, "1", null)).thenReturn(Mono.empty());
 
-        var result = taskController.deleteTaskById("1");
+        var result = taskController.deleteTaskById("1", "*");
 
         assertNull(result.block());
-        verify(taskService).deleteTaskById("1");
+        verify(taskService).deleteTaskById(null, "1", null);
     }
 }
@@ -0,0 +1,131 @@
+package com.example.todolist.rest;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskPageDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.service.TaskCollectionVersion;
+import com.example.todolist.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskListControllerTest {
+
+    @Mock
+    TaskService taskService;
+
+    @Spy
+    TaskCollectionVersion taskCollectionVersion = new TaskCollectionVersion(null, new TaskProperties());
+
+    @InjectMocks
+    TaskListController taskListController;
+
+    @Test
+    void createTask() {
+        var taskDto = new TaskDto(null, "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, null);
+        var created = new TaskDto("1", "Test Task", "Description", taskDto.getCreationDate(), TaskStatus.CREATED, 0L, "list-1");
+        when(taskService.createTask("list-1", taskDto)).thenReturn(Mono.just(created));
+
+        var result = taskListController.createTask("list-1", taskDto);
+
+        assertEquals(created, result.block());
+    }
+
+    @Test
+    void getAllTasks() {
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, null, "list-1");
+        when(taskService.getAllTasks("list-1", null, null, null, null, null, false)).thenReturn(Flux.just(taskDto));
+
+        var result = taskListController.getAllTasks("list-1", null, null, null, null, null, false,
+                MockServerHttpRequest.get("/lists/list-1/tasks").build());
+
+        assertTrue(result.getHeaders().getETag().startsWith("\"" + taskCollectionVersion.getVersion("list-1") + "-"));
+        StepVerifier.create(result.getBody())
+                .expectNext(taskDto)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllTasksETagChangesOnlyWithItsList() {
+        var request = MockServerHttpRequest.get("/lists/list-1/tasks").build();
+        var eTag = taskListController.getAllTasks("list-1", null, null, null, null, null, false, request).getHeaders().getETag();
+
+        taskCollectionVersion.changed("list-2");
+        assertEquals(eTag, taskListController.getAllTasks("list-1", null, null, null, null, null, false, request).getHeaders().getETag());
+        taskCollectionVersion.changed("list-1");
+        assertNotEquals(eTag, taskListController.getAllTasks("list-1", null, null, null, null, null, false, request).getHeaders().getETag());
+    }
+
+    @Test
+    void getTasksPage() {
+        var page = new TaskPageDto(List.of(), null);
+        when(taskService.getTasksPage("list-1", 10, null, null, null, null, null, null)).thenReturn(Mono.just(page));
+
+        var result = taskListController.getTasksPage("list-1", 10, null, null, null, null, null, null,
+                MockServerHttpRequest.get("/lists/list-1/tasks?limit=10").build());
+
+        assertEquals(page, result.getBody().block());
+    }
+
+    @Test
+    void getTaskById() {
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, 2L, "list-1");
+        when(taskService.getTaskById("list-1", "1", null)).thenReturn(Mono.just(taskDto));
+
+        var result = taskListController.getTaskById("list-1", "1", null).block();
+
+        assertNotNull(result);
+        assertEquals(taskDto, result.getBody());
+        assertEquals("\"2\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void updateTaskById() {
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.CREATED, 3L, "list-1");
+        when(taskService.updateTaskById("list-1", "1", taskDto, 2L)).thenReturn(Mono.just(taskDto));
+
+        var result = taskListController.updateTaskById("list-1", "1", taskDto, "\"2\"").block();
+
+        assertNotNull(result);
+        assertEquals("\"3\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void patchTaskById() {
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var taskDto = new TaskDto("1", "Test Task", "Description", LocalDateTime.now(), TaskStatus.FINISHED, 1L, "list-1");
+        when(taskService.patchTaskById("list-1", "1", taskPatchDto, null)).thenReturn(Mono.just(taskDto));
+
+        var result = taskListController.patchTaskById("list-1", "1", taskPatchDto, null).block();
+
+        assertNotNull(result);
+        assertEquals(taskDto, result.getBody());
+    }
+
+    @Test
+    void deleteTaskById() {
+        when(taskService.deleteTaskById("list-1", "1", 1L)).thenReturn(Mono.empty());
+
+        var result = taskListController.deleteTaskById("list-1", "1", "\"1\"");
+
+        assertNull(result.block());
+        verify(taskService).deleteTaskById("list-1", "1", 1L);
+    }
+}
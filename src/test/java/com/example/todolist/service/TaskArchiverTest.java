@@ -0,0 +1,103 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskArchiverTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 3, 2, 2, 2);
+    LocalDateTime createdBefore = dateTime.minusDays(30);
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    TaskProperties taskProperties = new TaskProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    TaskCache taskCache = new TaskCache(taskProperties, meterRegistry);
+    TaskTitleIndex taskTitleIndex = new TaskTitleIndex(meterRegistry);
+    TaskListQuota taskListQuota = mock(TaskListQuota.class);
+    TaskCollectionVersion taskCollectionVersion = new TaskCollectionVersion(null, taskProperties);
+
+    @Test
+    void archiveFinishedTasksInBatches() {
+        taskProperties.getArchive().setBatchSize(2);
+        taskProperties.getArchive().setMaxTasksPerSecond(1);
+        var first = List.of(task("1"), task("2"));
+        var second = List.of(task("3"));
+        first.forEach(taskTitleIndex::put);
+        when(taskRepository.findArchivable(createdBefore, 2)).thenReturn(Flux.fromIterable(first), Flux.fromIterable(second));
+        when(taskRepository.archive(first)).thenReturn(Mono.just(List.of("1")));
+        when(taskRepository.archive(second)).thenReturn(Mono.just(List.of("3")));
+
+        StepVerifier.withVirtualTime(() -> archiver().archiveFinishedTasks())
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(1900))
+                .thenAwait(Duration.ofMillis(100))
+                .verifyComplete();
+
+        verify(taskRepository, times(2)).findArchivable(createdBefore, 2);
+        Assertions.assertEquals(2, meterRegistry.get("tasks.archived").counter().count());
+        Assertions.assertEquals(List.of("2"), taskTitleIndex.suggest(null, "test", 10).stream().map(TaskSuggestionDto::getId).toList());
+    }
+
+    @Test
+    void archiveStopsAtMaxBatchesPerRun() {
+        taskProperties.getArchive().setBatchSize(1);
+        taskProperties.getArchive().setMaxBatchesPerRun(3);
+        when(taskRepository.findArchivable(createdBefore, 1)).thenAnswer(invocation -> Flux.just(task("1")));
+        when(taskRepository.archive(any())).thenReturn(Mono.just(List.of("1")));
+
+        StepVerifier.withVirtualTime(() -> archiver().archiveFinishedTasks())
+                .thenAwait(Duration.ofSeconds(1))
+                .verifyComplete();
+
+        verify(taskRepository, times(3)).archive(any());
+    }
+
+    @Test
+    void archiveNothingWhenNoTasksAreOldEnough() {
+        when(taskRepository.findArchivable(createdBefore, 500)).thenReturn(Flux.empty());
+
+        StepVerifier.create(archiver().archiveFinishedTasks()).verifyComplete();
+
+        verify(taskRepository, never()).archive(any());
+    }
+
+    @Test
+    void archiveDisabled() {
+        taskProperties.getArchive().setEnabled(false);
+
+        StepVerifier.create(archiver().archiveFinishedTasks()).verifyComplete();
+
+        verify(taskRepository, never()).findArchivable(any(), anyInt());
+    }
+
+    TaskArchiver archiver() {
+        var clock = Clock.fixed(Instant.from(dateTime.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+        return new TaskArchiver(taskRepository, taskProperties, taskCache, taskTitleIndex, taskListQuota, taskCollectionVersion, meterRegistry, clock);
+    }
+
+    Task task(String id) {
+        return new Task(id, "Test " + id, "Description", dateTime.minusDays(40), TaskStatus.FINISHED, 1L, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TaskCacheTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    Task task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null);
+
+    @Test
+    void concurrentMissesShareOneLoad() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var taskCache = new TaskCache(new TaskProperties(), meterRegistry);
+        var loads = new AtomicInteger();
+
+        var result = Flux.range(0, 10)
+                .flatMap(i -> taskCache.get("1", id -> Mono.delay(Duration.ofMillis(50))
+                        .doOnSubscribe(subscription -> loads.incrementAndGet())
+                        .thenReturn(task)));
+
+        StepVerifier.create(result).expectNextCount(10).verifyComplete();
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        Assertions.assertEquals(9.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void missingTaskIsNotCached() {
+        var taskCache = new TaskCache(new TaskProperties(), new SimpleMeterRegistry());
+        var loads = new AtomicInteger();
+
+        StepVerifier.create(taskCache.get("1", id -> Mono.fromRunnable(loads::incrementAndGet))).verifyComplete();
+        StepVerifier.create(taskCache.get("1", id -> Mono.fromRunnable(loads::incrementAndGet))).verifyComplete();
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void putAndInvalidate() {
+        var taskCache = new TaskCache(new TaskProperties(), new SimpleMeterRegistry());
+
+        taskCache.put(task);
+        StepVerifier.create(taskCache.get("1", id -> Mono.error(new IllegalStateException()))).expectNext(task).verifyComplete();
+
+        taskCache.invalidate("1");
+        StepVerifier.create(taskCache.get("1", id -> Mono.empty())).verifyComplete();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        var taskProperties = new TaskProperties();
+        taskProperties.getCache().setEnabled(false);
+        var taskCache = new TaskCache(taskProperties, new SimpleMeterRegistry());
+        var loads = new AtomicInteger();
+
+        taskCache.put(task);
+        StepVerifier.create(taskCache.get("1", id -> Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return task;
+        }))).expectNext(task).verifyComplete();
+        Assertions.assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskCollectionVersionTest {
+    Instant start = Instant.parse("2024-01-02T02:02:00Z");
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    TaskProperties taskProperties = new TaskProperties();
+
+    @Test
+    void versionChangesOnlyForChangedListAndAllTasks() {
+        var version = new TaskCollectionVersion(taskRepository, taskProperties, Clock.fixed(start, ZoneOffset.UTC));
+        var list1 = version.getVersion("list-1");
+        var list2 = version.getVersion("list-2");
+        var all = version.getVersion(null);
+
+        version.changed("list-1");
+
+        Assertions.assertNotEquals(list1, version.getVersion("list-1"));
+        Assertions.assertEquals(list2, version.getVersion("list-2"));
+        Assertions.assertNotEquals(all, version.getVersion(null));
+        Assertions.assertEquals(start, version.getLastModified("list-1"));
+    }
+
+    @Test
+    void versionsDoNotRepeatAfterRestart() {
+        var beforeRestart = new TaskCollectionVersion(taskRepository, taskProperties, Clock.fixed(start, ZoneOffset.UTC));
+        beforeRestart.changed("list-1");
+        beforeRestart.changed("list-1");
+        var afterRestart = new TaskCollectionVersion(taskRepository, taskProperties, Clock.fixed(start.plus(Duration.ofSeconds(5)), ZoneOffset.UTC));
+
+        Assertions.assertTrue(afterRestart.getVersion("list-1") > beforeRestart.getVersion("list-1"));
+        Assertions.assertEquals(start.plus(Duration.ofSeconds(5)), afterRestart.getLastModified("list-1"));
+    }
+
+    @Test
+    void watchedChangesBumpVersions() {
+        var changes = Sinks.many().unicast().<Optional<String>>onBackpressureBuffer();
+        when(taskRepository.watchChangedLists()).thenReturn(changes.asFlux());
+        taskProperties.getCollectionVersion().setWatchChanges(true);
+        var version = new TaskCollectionVersion(taskRepository, taskProperties, Clock.fixed(start, ZoneOffset.UTC));
+        var list1 = version.getVersion("list-1");
+        var list2 = version.getVersion("list-2");
+
+        version.watchChanges();
+        var subscribed = version.getVersion("list-1");
+        changes.tryEmitNext(Optional.of("list-1"));
+        var changed = version.getVersion("list-1");
+        changes.tryEmitNext(Optional.empty());
+        version.close();
+
+        Assertions.assertNotEquals(list1, subscribed);
+        Assertions.assertNotEquals(subscribed, changed);
+        Assertions.assertEquals(list2 + 2, version.getVersion("list-2"));
+    }
+
+    @Test
+    void watchDisabledByDefault() {
+        var version = new TaskCollectionVersion(taskRepository, taskProperties, Clock.fixed(start, ZoneOffset.UTC));
+        when(taskRepository.watchChangedLists()).thenReturn(Flux.error(new IllegalStateException("Not a replica set")));
+
+        version.watchChanges();
+
+        Assertions.assertEquals(start.toEpochMilli(), version.getVersion("list-1"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todolist.service;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+class TaskCursorTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2, 2, 123000000);
+
+    @Test
+    void encodeAndDecode() {
+        var task = new Task("6720f1a2b3c4d5e6f7a8b9c0", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        var result = TaskCursor.decode(TaskCursor.of(task).encode());
+
+        Assertions.assertEquals(dateTime, result.getCreationDate());
+        Assertions.assertEquals(task.getId(), result.getId());
+    }
+
+    @Test
+    void decodeWrongCursor() {
+        var exception = Assertions.assertThrows(ResponseStatusException.class, () -> TaskCursor.decode("not a cursor"));
+
+        Assertions.assertEquals("400 BAD_REQUEST \"Invalid cursor\"", exception.getMessage());
+    }
+}
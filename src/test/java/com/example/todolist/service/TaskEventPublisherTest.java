@@ -0,0 +1,77 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+class TaskEventPublisherTest {
+
+    @Test
+    void manyConcurrentSubscribersReceiveAllEvents() throws InterruptedException {
+        var publisher = new TaskEventPublisher(new TaskProperties(), new SimpleMeterRegistry());
+        var subscribers = 200;
+        var events = 100;
+        var subscribed = new CountDownLatch(subscribers);
+        var results = IntStream.range(0, subscribers)
+                .mapToObj(i -> publisher.events()
+                        .doOnSubscribe(subscription -> subscribed.countDown())
+                        .take(events)
+                        .count()
+                        .toFuture())
+                .toList();
+        Assertions.assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+
+        Flux.range(0, events)
+                .parallel(4)
+                .runOn(Schedulers.parallel())
+                .doOnNext(i -> publisher.publish(TaskEventDto.deleted(String.valueOf(i), null)))
+                .sequential()
+                .blockLast();
+
+        for (var result : results) {
+            Assertions.assertEquals(events, result.join());
+        }
+    }
+
+    @Test
+    void slowSubscriberDropsOldestEvents() {
+        var taskProperties = new TaskProperties();
+        taskProperties.getEvents().setBufferSize(2);
+        var meterRegistry = new SimpleMeterRegistry();
+        var publisher = new TaskEventPublisher(taskProperties, meterRegistry);
+
+        StepVerifier.create(publisher.events(), 0)
+                .then(() -> IntStream.range(0, 5).forEach(i -> publisher.publish(TaskEventDto.deleted(String.valueOf(i), null))))
+                .thenRequest(2)
+                .expectNext(TaskEventDto.deleted("3", null), TaskEventDto.deleted("4", null))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(3.0, meterRegistry.get("tasks.events.dropped").counter().count());
+    }
+
+    @Test
+    void slowSubscriberIsDisconnected() {
+        var taskProperties = new TaskProperties();
+        taskProperties.getEvents().setBufferSize(2);
+        taskProperties.getEvents().setOverflow(TaskProperties.Events.Overflow.DISCONNECT);
+        var publisher = new TaskEventPublisher(taskProperties, new SimpleMeterRegistry());
+
+        StepVerifier.create(publisher.events(), 0)
+                .then(() -> IntStream.range(0, 5).forEach(i -> publisher.publish(TaskEventDto.deleted(String.valueOf(i), null))))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+    }
+}
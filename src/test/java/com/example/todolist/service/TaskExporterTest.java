@@ -0,0 +1,117 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskExporterTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    TaskProperties taskProperties = new TaskProperties();
+    TaskExporter taskExporter = new TaskExporter(taskRepository, new TaskMapper(), taskProperties, Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+
+    @Test
+    void exportNdjson() {
+        when(taskRepository.streamAfterId(null, 256)).thenReturn(Flux.just(task("1", "First"), task("2", "Second")));
+
+        var exported = export(TaskTransferFormat.NDJSON, false, null, false);
+
+        Assertions.assertEquals("""
+                {"id":"1","title":"First","description":"Description","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED","version":1}
+                {"id":"2","title":"Second","description":"Description","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED","version":1}
+                """, string(exported));
+    }
+
+    @Test
+    void exportCsvQuotesFields() {
+        when(taskRepository.streamAfterId("1", 256)).thenReturn(Flux.just(task("2", "Say \"hi\", then\nleave")));
+
+        var exported = export(TaskTransferFormat.CSV, false, "1", false);
+
+        Assertions.assertEquals("""
+                id,title,description,creationDate,taskStatus,version,listId
+                2,"Say ""hi"", then
+                leave",Description,2024-01-02T02:02,CREATED,1,
+                """, string(exported));
+    }
+
+    @Test
+    void exportIsSplitIntoChunks() {
+        taskProperties.getTransfer().setExportChunkSize(DataSize.ofBytes(100));
+        when(taskRepository.streamAfterId(null, 256)).thenReturn(Flux.range(0, 10).map(i -> task(String.valueOf(i), "Task " + i)));
+
+        var buffers = exportBuffers(TaskTransferFormat.NDJSON, false, null, false);
+
+        Assertions.assertEquals(10, buffers.size());
+        Assertions.assertEquals(10, string(buffers).lines().count());
+    }
+
+    @Test
+    void exportGzipWithArchivedTasksOrderedById() throws IOException {
+        when(taskRepository.streamAfterId(null, 256)).thenReturn(Flux.just(task("1", "First"), task("3", "Third")));
+        when(taskRepository.streamArchivedAfterId(null, 256)).thenReturn(Flux.just(task("2", "Second")));
+
+        var exported = export(TaskTransferFormat.CSV, true, null, true);
+
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(exported))) {
+            var lines = new String(input.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            Assertions.assertEquals(List.of("1", "2", "3"), lines.stream().skip(1).map(line -> line.substring(0, 1)).toList());
+        }
+    }
+
+    byte[] export(TaskTransferFormat format, boolean gzip, String after, boolean includeArchived) {
+        var output = new ByteArrayOutputStream();
+        exportBuffers(format, gzip, after, includeArchived).forEach(output::writeBytes);
+        return output.toByteArray();
+    }
+
+    List<byte[]> exportBuffers(TaskTransferFormat format, boolean gzip, String after, boolean includeArchived) {
+        return taskExporter.exportTasks(format, gzip, after, includeArchived, DefaultDataBufferFactory.sharedInstance)
+                .map(this::bytes)
+                .collectList()
+                .block();
+    }
+
+    byte[] bytes(DataBuffer buffer) {
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    String string(List<byte[]> buffers) {
+        var output = new ByteArrayOutputStream();
+        buffers.forEach(output::writeBytes);
+        return string(output.toByteArray());
+    }
+
+    Task task(String id, String title) {
+        return new Task(id, title, "Description", dateTime, TaskStatus.CREATED, 1L, null);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskBulkResultDto;
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskImportProgressDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskImporterTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    TaskListQuota taskListQuota = mock(TaskListQuota.class);
+    TaskProperties taskProperties = new TaskProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    TaskStatistics taskStatistics = new TaskStatistics(taskProperties);
+    TaskEventPublisher taskEventPublisher = new TaskEventPublisher(taskProperties, meterRegistry);
+    TaskImporter taskImporter = new TaskImporter(taskRepository, new TaskMapper(), new TaskValidator(), new TaskMetrics(meterRegistry),
+            taskStatistics, new TaskTitleIndex(meterRegistry), taskListQuota, new TaskCollectionVersion(null, taskProperties), taskEventPublisher,
+            taskProperties, Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void importNdjsonKeepsIdsAndReportsFailedRecords() {
+        when(taskRepository.insertAll(any(), anyBoolean())).thenReturn(Mono.just(Map.of(1, "Duplicate key")));
+        var body = """
+                {"id":"1","title":"First","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED","version":5}
+
+                {"id":"2","title":"","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED"}
+                {"id":"3",
+                {"id":"4","title":"Fourth","creationDate":"2024-01-02T02:02:00","taskStatus":"FINISHED"}
+                """;
+
+        var progress = taskImporter.importTasks(body(body), TaskTransferFormat.NDJSON, false, 0).collectList().block();
+
+        Assertions.assertEquals(1, progress.size());
+        Assertions.assertEquals(4, progress.get(0).getProcessed());
+        Assertions.assertEquals(1, progress.get(0).getImported());
+        Assertions.assertEquals(3, progress.get(0).getFailed());
+        var errors = progress.get(0).getErrors();
+        Assertions.assertEquals(TaskBulkResultDto.failed(1, "Title cannot be empty"), errors.get(0));
+        Assertions.assertEquals(2, errors.get(1).getIndex());
+        Assertions.assertTrue(errors.get(1).getError().startsWith("Invalid JSON"));
+        Assertions.assertEquals(TaskBulkResultDto.failed(3, "Duplicate key"), errors.get(2));
+        verify(taskRepository).insertAll(List.of(
+                new Task("1", "First", null, dateTime, TaskStatus.CREATED, null, null),
+                new Task("4", "Fourth", null, dateTime, TaskStatus.FINISHED, null, null)), false);
+        Assertions.assertEquals(1, taskStatistics.snapshot().getByStatus().get(TaskStatus.CREATED));
+    }
+
+    @Test
+    void importPublishesCreatedEventsForWrittenTasks() {
+        when(taskRepository.insertAll(any(), anyBoolean())).thenReturn(Mono.just(Map.of(1, "Duplicate key")));
+        var body = """
+                {"id":"1","title":"First","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED"}
+                {"id":"2","title":"Second","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED"}
+                """;
+        var events = new ArrayList<TaskEventDto>();
+        var subscription = taskEventPublisher.events().subscribe(events::add);
+
+        taskImporter.importTasks(body(body), TaskTransferFormat.NDJSON, false, 0).blockLast();
+        subscription.dispose();
+
+        Assertions.assertEquals(List.of(TaskEventDto.created(new TaskDto("1", "First", null, dateTime, TaskStatus.CREATED, null, null))), events);
+    }
+
+    @Test
+    void importGzipCsvInBatches() throws IOException {
+        taskProperties.getTransfer().setImportBatchSize(2);
+        when(taskRepository.insertAll(any(), anyBoolean())).thenReturn(Mono.just(Map.of()));
+        when(taskListQuota.acquire("list-1")).thenReturn(Mono.empty());
+        var body = """
+                id,title,description,creationDate,taskStatus,version,listId\r
+                1,"Multi\r
+                line, ""quoted""\",,2024-01-02T02:02,CREATED,,list-1\r
+                2,Second,,2024-01-02T02:02,IN_PROGRESS,,\r
+                3,Third,,2024-01-02T02:02,UNKNOWN,,\r
+                """;
+
+        var result = taskImporter.importTasks(body(gzip(body)), TaskTransferFormat.CSV, true, 0);
+
+        StepVerifier.create(result)
+                .expectNext(new TaskImportProgressDto(2, 2, 0, List.of()))
+                .assertNext(progress -> {
+                    Assertions.assertEquals(3, progress.getProcessed());
+                    Assertions.assertEquals(1, progress.getFailed());
+                    Assertions.assertTrue(progress.getErrors().get(0).getError().startsWith("Invalid CSV record"));
+                })
+                .verifyComplete();
+        verify(taskRepository).insertAll(List.of(
+                new Task("1", "Multi\r\nline, \"quoted\"", null, dateTime, TaskStatus.CREATED, null, "list-1"),
+                new Task("2", "Second", null, dateTime, TaskStatus.IN_PROGRESS, null, null)), false);
+        verify(taskListQuota).acquire("list-1");
+    }
+
+    @Test
+    void importSkipsAlreadyProcessedRecords() {
+        when(taskRepository.insertAll(any(), anyBoolean())).thenReturn(Mono.just(Map.of()));
+        var body = """
+                {"id":"1","title":"First","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED"}
+                {"id":"2","title":"Second","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED"}
+                """;
+
+        StepVerifier.create(taskImporter.importTasks(body(body), TaskTransferFormat.NDJSON, false, 1))
+                .expectNext(new TaskImportProgressDto(2, 1, 0, List.of()))
+                .verifyComplete();
+        StepVerifier.create(taskImporter.importTasks(body(body), TaskTransferFormat.NDJSON, false, 2))
+                .expectNext(new TaskImportProgressDto(2, 0, 0, List.of()))
+                .verifyComplete();
+        verify(taskRepository).insertAll(List.of(new Task("2", "Second", null, dateTime, TaskStatus.CREATED, null, null)), false);
+    }
+
+    @Test
+    void importRejectsTasksOverListQuota() {
+        when(taskListQuota.acquire("full")).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN)));
+        var body = """
+                {"id":"1","title":"First","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED","listId":"full"}
+                {"id":"2","title":"Second","creationDate":"2024-01-02T02:02:00","taskStatus":"CREATED","listId":"bad list"}
+                """;
+
+        StepVerifier.create(taskImporter.importTasks(body(body), TaskTransferFormat.NDJSON, false, 0))
+                .expectNext(new TaskImportProgressDto(2, 0, 2, List.of(
+                        TaskBulkResultDto.failed(1, "List ID must be 1 to 64 letters, digits, - or _"),
+                        TaskBulkResultDto.failed(0, "List is full"))))
+                .verifyComplete();
+        verify(taskRepository, never()).insertAll(any(), anyBoolean());
+    }
+
+    @Test
+    void importFailsRecordsOverMaxLength() {
+        taskProperties.getTransfer().setImportMaxRecordSize(DataSize.ofBytes(200));
+        when(taskRepository.insertAll(any(), anyBoolean())).thenReturn(Mono.just(Map.of()));
+        var json = "{\"id\":\"1\",\"title\":\"" + "x".repeat(300) + "\"}\n"
+                + "{\"id\":\"2\",\"title\":\"Second\",\"creationDate\":\"2024-01-02T02:02:00\",\"taskStatus\":\"CREATED\"}\n";
+        var csv = "id,title,creationDate,taskStatus\n1,\"" + "x,\n".repeat(100) + "\",2024-01-02T02:02,CREATED\n"
+                + "2,Second,2024-01-02T02:02,CREATED\n";
+        var expected = new TaskImportProgressDto(2, 1, 1, List.of(TaskBulkResultDto.failed(0, "Record exceeds 200 characters")));
+
+        StepVerifier.create(taskImporter.importTasks(body(json), TaskTransferFormat.NDJSON, false, 0))
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(taskImporter.importTasks(body(csv), TaskTransferFormat.CSV, false, 0))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    void importRejectsUnknownCsvColumn() {
+        StepVerifier.create(taskImporter.importTasks(body("id,owner\n1,me\n"), TaskTransferFormat.CSV, false, 0))
+                .expectErrorMatches(error -> error.getMessage().equals("400 BAD_REQUEST \"Unknown column owner\""))
+                .verify();
+    }
+
+    Flux<DataBuffer> body(String body) {
+        return body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Flux<DataBuffer> body(byte[] body) {
+        var half = body.length / 2;
+        var factory = DefaultDataBufferFactory.sharedInstance;
+        return Flux.just(Arrays.copyOfRange(body, 0, half), Arrays.copyOfRange(body, half, body.length))
+                .map(factory::wrap);
+    }
+
+    byte[] gzip(String body) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return output.toByteArray();
+    }
+}
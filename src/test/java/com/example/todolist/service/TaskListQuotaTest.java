@@ -0,0 +1,53 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskListQuotaTest {
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    TaskProperties taskProperties = new TaskProperties();
+
+    @Test
+    void acquireUntilListIsFull() {
+        taskProperties.getLists().setMaxTasks(3);
+        when(taskRepository.countByListId("list-1")).thenReturn(Mono.just(1L));
+        var quota = new TaskListQuota(taskRepository, taskProperties);
+
+        StepVerifier.create(quota.acquire("list-1")).verifyComplete();
+        StepVerifier.create(quota.acquire("list-1")).verifyComplete();
+        StepVerifier.create(quota.acquire("list-1"))
+                .expectErrorMessage("403 FORBIDDEN \"List cannot have more than 3 tasks\"")
+                .verify();
+        verify(taskRepository, times(1)).countByListId("list-1");
+    }
+
+    @Test
+    void releaseMakesRoomInList() {
+        taskProperties.getLists().setMaxTasks(1);
+        when(taskRepository.countByListId("list-1")).thenReturn(Mono.just(1L));
+        var quota = new TaskListQuota(taskRepository, taskProperties);
+
+        StepVerifier.create(quota.acquire("list-1")).expectError().verify();
+        quota.release("list-1");
+        StepVerifier.create(quota.acquire("list-1")).verifyComplete();
+    }
+
+    @Test
+    void releaseWithoutCountedList() {
+        var quota = new TaskListQuota(taskRepository, taskProperties);
+
+        quota.release("list-1");
+        quota.release(null);
+
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.todolist.service;
 
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskPatchDto;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.TaskStatus;
 import org.junit.jupiter.api.Assertions;
@@ -14,8 +15,8 @@ class TaskMapperTest {
 
     @Test
     void taskToTaskDto() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var taskDto = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
         var taskMapper = new TaskMapper();
         var result = taskMapper.taskToTaskDto(task);
 
@@ -24,11 +25,21 @@ class TaskMapperTest {
 
     @Test
     void taskDtoToTask() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var taskDto = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
         var taskMapper = new TaskMapper();
         var result = taskMapper.taskDtoToTask(taskDto);
 
         Assertions.assertEquals(result, task);
     }
+
+    @Test
+    void taskPatchDtoToTask() {
+        var task = new Task("1", null, null, null, TaskStatus.FINISHED, null, null);
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var taskMapper = new TaskMapper();
+        var result = taskMapper.taskPatchDtoToTask("1", taskPatchDto);
+
+        Assertions.assertEquals(result, task);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.entity.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+class TaskProjectionTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2, 2, 123000000);
+
+    @Test
+    void parseFields() {
+        var projection = TaskProjection.parse(" id, title ");
+
+        Assertions.assertFalse(projection.isAll());
+        Assertions.assertEquals(Set.of("id", "title"), projection.getFields());
+        Assertions.assertEquals(Set.of("id", "title", "creationDate"), projection.with("creationDate").getFields());
+    }
+
+    @Test
+    void parseAllFields() {
+        Assertions.assertSame(TaskProjection.ALL, TaskProjection.parse(null));
+        Assertions.assertSame(TaskProjection.ALL, TaskProjection.parse(" "));
+        Assertions.assertSame(TaskProjection.ALL, TaskProjection.parse("listId,version,taskStatus,creationDate,description,title,id"));
+        Assertions.assertSame(TaskProjection.ALL, TaskProjection.ALL.with("id"));
+    }
+
+    @Test
+    void parseWrongField() {
+        var exception = Assertions.assertThrows(ResponseStatusException.class, () -> TaskProjection.parse("title,owner"));
+
+        Assertions.assertEquals("400 BAD_REQUEST \"Fields must be a comma separated list of id, title, description, creationDate, taskStatus, version, listId\"",
+                exception.getMessage());
+    }
+
+    @Test
+    void applyProjection() {
+        var taskDto = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 2L, null);
+
+        Assertions.assertEquals(new TaskDto(null, "Test Task", null, null, TaskStatus.CREATED, null, null),
+                TaskProjection.parse("title,taskStatus").apply(taskDto));
+        Assertions.assertSame(taskDto, TaskProjection.ALL.apply(taskDto));
+    }
+
+    @Test
+    void onlyProjectedTasksOmitNullFields() throws JsonProcessingException {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var taskDto = new TaskDto("1", "Test Task", null, null, TaskStatus.CREATED, 2L, null);
+
+        Assertions.assertEquals("{\"title\":\"Test Task\",\"taskStatus\":\"CREATED\"}",
+                objectMapper.writeValueAsString(TaskProjection.parse("title,description,taskStatus").apply(taskDto)));
+        Assertions.assertEquals("{\"id\":\"1\",\"title\":\"Test Task\",\"description\":null,\"creationDate\":null,\"taskStatus\":\"CREATED\","
+                        + "\"version\":2,\"listId\":null}",
+                objectMapper.writeValueAsString(TaskProjection.ALL.apply(taskDto)));
+    }
+}
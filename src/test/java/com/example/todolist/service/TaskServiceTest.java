@@ -1,22 +1,38 @@
 package com.example.todolist.service;
 
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.dto.TaskBulkResultDto;
 import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskEventDto;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.dto.TaskSuggestionDto;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskChange;
+import com.example.todolist.repository.TaskFilter;
 import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -31,22 +47,54 @@ class TaskServiceTest {
     @Mock
     TaskMapper taskMapper;
 
+    @Spy
+    TaskProperties taskProperties = new TaskProperties();
+
+    @Spy
+    TaskCache taskCache = new TaskCache(new TaskProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    TaskEventPublisher taskEventPublisher = new TaskEventPublisher(new TaskProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    TaskStatistics taskStatistics = new TaskStatistics(new TaskProperties());
+
+    @Spy
+    TaskTitleIndex taskTitleIndex = new TaskTitleIndex(new SimpleMeterRegistry());
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
+    @Spy
+    TaskValidator taskValidator = new TaskValidator();
+
+    @Mock
+    TaskWriteCoalescer taskWriteCoalescer;
+
+    @Mock
+    TaskListQuota taskListQuota;
+
+    @Spy
+    TaskCollectionVersion taskCollectionVersion = new TaskCollectionVersion(null, new TaskProperties());
+
     @InjectMocks
     TaskService taskService;
 
     @Test
     void getAllTasks() {
-        var tasks = List.of(new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED),
-                new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED));
+        var tasks = List.of(new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
 
-        var dtoTasks = List.of(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED),
-                new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED));
+        var dtoTasks = List.of(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
 
-        when(taskRepository.findAll()).thenReturn(Flux.fromIterable(tasks));
-        when(taskMapper.taskToTaskDto(tasks.get(0))).thenReturn(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED));
-        when(taskMapper.taskToTaskDto(tasks.get(1))).thenReturn(new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED));
+        when(taskRepository.streamAll(TaskFilter.NONE, null, 256)).thenReturn(Flux.fromIterable(tasks));
+        when(taskMapper.taskToTaskDto(tasks.get(0))).thenReturn(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
+        when(taskMapper.taskToTaskDto(tasks.get(1))).thenReturn(new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
 
-        var result = taskService.getAllTasks();
+        var result = taskService.getAllTasks(null, null, null, null, null, null, false);
 
         StepVerifier.create(result)
                 .expectNext(dtoTasks.get(0))
@@ -54,71 +102,449 @@ class TaskServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getAllTasksFiltered() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+        var filter = new TaskFilter(null, TaskStatus.FINISHED, dateTime.minusDays(1), dateTime, Sort.Direction.DESC);
+
+        when(taskRepository.streamAll(filter, null, 256)).thenReturn(Flux.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        var result = taskService.getAllTasks(null, TaskStatus.FINISHED, dateTime.minusDays(1), dateTime, "-creationDate", null, false);
+
+        StepVerifier.create(result).expectNext(dtoTask).verifyComplete();
+    }
+
+    @Test
+    void getAllTasksWithWrongSort() {
+        var result = taskService.getAllTasks(null, null, null, null, "title", null, false);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Sort must be creationDate or -creationDate\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getAllTasksWithWrongDateRange() {
+        var result = taskService.getAllTasks(null, null, dateTime, dateTime.minusDays(1), null, null, false);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Created from cannot be after created to\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTasksPageFiltered() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var filter = new TaskFilter(null, TaskStatus.CREATED, null, null, Sort.Direction.ASC);
+
+        when(taskRepository.findPage(filter, null, null, null, 11)).thenReturn(Flux.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        var result = taskService.getTasksPage(null, 10, null, TaskStatus.CREATED, null, null, "creationDate", null);
+
+        StepVerifier.create(result)
+                .assertNext(page -> Assertions.assertEquals(List.of(dtoTask), page.getTasks()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPage() {
+        var tasks = List.of(new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new Task("3", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
+        var dtoTasks = List.of(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
+
+        when(taskRepository.findPage(TaskFilter.NONE, null, null, null, 3)).thenReturn(Flux.fromIterable(tasks));
+        when(taskMapper.taskToTaskDto(tasks.get(0))).thenReturn(dtoTasks.get(0));
+        when(taskMapper.taskToTaskDto(tasks.get(1))).thenReturn(dtoTasks.get(1));
+
+        var result = taskService.getTasksPage(null, 2, null, null, null, null, null, null);
+
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    Assertions.assertEquals(dtoTasks, page.getTasks());
+                    var cursor = TaskCursor.decode(page.getNext());
+                    Assertions.assertEquals(dateTime, cursor.getCreationDate());
+                    Assertions.assertEquals("2", cursor.getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPageAfterCursor() {
+        var task = new Task("3", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("3", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var after = TaskCursor.of(new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null)).encode();
+
+        when(taskRepository.findPage(TaskFilter.NONE, null, dateTime, "2", 3)).thenReturn(Flux.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        var result = taskService.getTasksPage(null, 2, after, null, null, null, null, null);
+
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    Assertions.assertEquals(List.of(dtoTask), page.getTasks());
+                    Assertions.assertNull(page.getNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPageWithWrongLimit() {
+        var result = taskService.getTasksPage(null, 0, null, null, null, null, null, null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Limit must be between 1 and 1000\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTasksPageWithWrongCursor() {
+        var result = taskService.getTasksPage(null, 10, "xyz", null, null, null, null, null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Invalid cursor\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getAllTasksProjected() {
+        var task = new Task("1", "Test Task", null, null, null, null, null);
+
+        when(taskRepository.streamAll(TaskFilter.NONE, Set.of("id", "title"), 256)).thenReturn(Flux.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(new TaskDto("1", "Test Task", null, null, null, null, null));
+
+        var result = taskService.getAllTasks(null, null, null, null, null, "id,title", false);
+
+        StepVerifier.create(result)
+                .expectNext(new TaskDto("1", "Test Task", null, null, null, null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllTasksIncludingArchived() {
+        var task = new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var archived = new Task("1", "Test Task", "Description", dateTime.minusDays(40), TaskStatus.FINISHED, null, null);
+        var dtoTask = new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoArchived = new TaskDto("1", "Test Task", "Description", dateTime.minusDays(40), TaskStatus.FINISHED, null, null);
+
+        when(taskRepository.streamAll(TaskFilter.NONE, null, 256)).thenReturn(Flux.just(task));
+        when(taskRepository.streamArchived(TaskFilter.NONE, null, 256)).thenReturn(Flux.just(archived));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+        when(taskMapper.taskToTaskDto(archived)).thenReturn(dtoArchived);
+
+        var result = taskService.getAllTasks(null, null, null, null, null, null, true);
+
+        StepVerifier.create(result).expectNext(dtoTask, dtoArchived).verifyComplete();
+    }
+
+    @Test
+    void getAllTasksIncludingArchivedSorted() {
+        var filter = new TaskFilter(null, null, null, null, Sort.Direction.DESC);
+        var tasks = List.of(new Task("3", "Test Task", null, dateTime, null, null, null),
+                new Task("1", "Test Task", null, dateTime.minusDays(40), null, null, null));
+        var archived = List.of(new Task("2", "Test Task", null, dateTime.minusDays(35), null, null, null),
+                new Task("0", "Test Task", null, dateTime.minusDays(45), null, null, null));
+
+        when(taskRepository.streamAll(filter, Set.of("title", "id", "creationDate"), 256)).thenReturn(Flux.fromIterable(tasks));
+        when(taskRepository.streamArchived(filter, Set.of("title", "id", "creationDate"), 256)).thenReturn(Flux.fromIterable(archived));
+        when(taskMapper.taskToTaskDto(any())).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return new TaskDto(task.getId(), task.getTitle() + " " + task.getId(), null, task.getCreationDate(), null, null, null);
+        });
+
+        var result = taskService.getAllTasks(null, null, null, null, "-creationDate", "title", true);
+
+        StepVerifier.create(result.map(TaskDto::getTitle))
+                .expectNext("Test Task 3", "Test Task 2", "Test Task 1", "Test Task 0")
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPageProjected() {
+        var tasks = List.of(new Task("1", "Test Task", null, dateTime, null, null, null),
+                new Task("2", "Test Task", null, dateTime, null, null, null));
+
+        when(taskRepository.findPage(TaskFilter.NONE, Set.of("title", "id", "creationDate"), null, null, 2)).thenReturn(Flux.fromIterable(tasks));
+        when(taskMapper.taskToTaskDto(tasks.get(0))).thenReturn(new TaskDto("1", "Test Task", null, dateTime, null, null, null));
+
+        var result = taskService.getTasksPage(null, 1, null, null, null, null, null, "title");
+
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    Assertions.assertEquals(List.of(new TaskDto(null, "Test Task", null, null, null, null, null)), page.getTasks());
+                    Assertions.assertEquals("1", TaskCursor.decode(page.getNext()).getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllTasksWithWrongFields() {
+        var result = taskService.getAllTasks(null, null, null, null, null, "title,owner", false);
+
+        StepVerifier.create(result)
+                .expectErrorMessage("400 BAD_REQUEST \"Fields must be a comma separated list of id, title, description, creationDate, taskStatus, version, listId\"")
+                .verify();
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void createTask() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var taskBeforeSave = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var taskDtoAfterSave = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskBeforeSave = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDtoAfterSave = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
         when(taskRepository.save(taskBeforeSave)).thenReturn(Mono.just(task));
         when(taskMapper.taskDtoToTask(taskDto)).thenReturn(taskBeforeSave);
         when(taskMapper.taskToTaskDto(task)).thenReturn(taskDtoAfterSave);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         result.subscribe(t -> Assertions.assertNotNull(t.getId()));
     }
 
+    @Test
+    void createTaskWithBatchingEnabled() {
+        taskProperties.getCreateBatch().setEnabled(true);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null);
+        var taskBeforeSave = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDtoAfterSave = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null);
+        when(taskWriteCoalescer.insert(taskBeforeSave)).thenReturn(Mono.just(task));
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(taskBeforeSave);
+        when(taskMapper.taskToTaskDto(task)).thenReturn(taskDtoAfterSave);
+
+        var result = taskService.createTask(null, taskDto);
+
+        StepVerifier.create(result).expectNext(taskDtoAfterSave).verifyComplete();
+        verify(taskRepository, never()).save(any());
+        Assertions.assertEquals(task, taskCache.get("1", id -> Mono.empty()).block());
+    }
+
+    @Test
+    void createTaskInList() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, "list-1");
+        var taskBeforeSave = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDtoAfterSave = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, "list-1");
+        when(taskListQuota.acquire("list-1")).thenReturn(Mono.empty());
+        when(taskRepository.save(taskBeforeSave)).thenReturn(Mono.just(task));
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(taskBeforeSave);
+        when(taskMapper.taskToTaskDto(task)).thenReturn(taskDtoAfterSave);
+
+        var result = taskService.createTask("list-1", taskDto);
+
+        StepVerifier.create(result).expectNext(taskDtoAfterSave).verifyComplete();
+        Assertions.assertEquals("list-1", taskBeforeSave.getListId());
+        verify(taskListQuota, never()).release(any());
+        verify(taskCollectionVersion).changed("list-1");
+    }
+
+    @Test
+    void createTaskInFullList() {
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        when(taskListQuota.acquire("list-1"))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "List cannot have more than 10000 tasks")));
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
+
+        var result = taskService.createTask("list-1", taskDto);
+
+        StepVerifier.create(result).expectErrorMessage("403 FORBIDDEN \"List cannot have more than 10000 tasks\"").verify();
+        verify(taskRepository, never()).save(any());
+        verify(taskListQuota, never()).release(any());
+    }
+
+    @Test
+    void createTaskInListReleasesQuotaWhenSaveFails() {
+        var taskBeforeSave = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        when(taskListQuota.acquire("list-1")).thenReturn(Mono.empty());
+        when(taskRepository.save(taskBeforeSave)).thenReturn(Mono.error(new IllegalStateException("Database unavailable")));
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(taskBeforeSave);
+
+        var result = taskService.createTask("list-1", taskDto);
+
+        StepVerifier.create(result).expectErrorMessage("Database unavailable").verify();
+        verify(taskListQuota).release("list-1");
+        verify(taskCollectionVersion, never()).changed(any());
+    }
+
+    @Test
+    void createTaskWithInvalidListId() {
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        var result = taskService.createTask("list 1", taskDto);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"List ID must be 1 to 64 letters, digits, - or _\"").verify();
+        verifyNoInteractions(taskRepository, taskListQuota);
+    }
+
+    @Test
+    void getAllTasksInList() {
+        var tasks = List.of(new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, "list-1"));
+        var filter = new TaskFilter("list-1", null, null, null, null);
+        when(taskRepository.streamAll(filter, null, 256)).thenReturn(Flux.fromIterable(tasks));
+        when(taskMapper.taskToTaskDto(tasks.get(0)))
+                .thenReturn(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, "list-1"));
+
+        var result = taskService.getAllTasks("list-1", null, null, null, null, null, false);
+
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void getTaskByIdFromOtherList() {
+        taskCache.put(new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, "list-1"));
+        when(taskRepository.findProjectedById("1", "list-2", Set.of("title"))).thenReturn(Mono.empty());
+        when(taskRepository.findArchivedById("1", "list-2", Set.of("title"))).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.getTaskById("list-2", "1", null)).verifyComplete();
+        StepVerifier.create(taskService.getTaskById("list-2", "1", "title")).verifyComplete();
+        verify(taskRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getTaskByIdLoadedByOtherListFirst() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, "list-1");
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, "list-1");
+        when(taskRepository.findById("1")).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        StepVerifier.create(taskService.getTaskById("list-2", "1", null)).verifyComplete();
+        StepVerifier.create(taskService.getTaskById("list-1", "1", null)).expectNext(dtoTask).verifyComplete();
+        verify(taskRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void createTasks() {
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var invalidTaskDto = new TaskDto(null, null, "Description", dateTime, TaskStatus.CREATED, null, null);
+        var duplicatedTaskDto = new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var duplicatedTask = new Task("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(task);
+        when(taskMapper.taskDtoToTask(duplicatedTaskDto)).thenReturn(duplicatedTask);
+        when(taskRepository.insertAll(List.of(task, duplicatedTask), false)).thenReturn(Mono.just(Map.of(1, "Duplicate key")));
+
+        var result = taskService.createTasks(Flux.just(taskDto, invalidTaskDto, duplicatedTaskDto));
+
+        StepVerifier.create(result)
+                .expectNext(TaskBulkResultDto.created(0, "1"))
+                .expectNext(TaskBulkResultDto.failed(1, "Title cannot be empty"))
+                .expectNext(TaskBulkResultDto.failed(2, "Duplicate key"))
+                .verifyComplete();
+    }
+
+    @Test
+    void createTasksInBatches() {
+        taskProperties.getBulk().setBatchSize(1);
+        var taskDtos = List.of(new TaskDto(null, "Test Task 1", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new TaskDto(null, "Test Task 2", "Description", dateTime, TaskStatus.CREATED, null, null));
+        var tasks = List.of(new Task("1", "Test Task 1", "Description", dateTime, TaskStatus.CREATED, null, null),
+                new Task("2", "Test Task 2", "Description", dateTime, TaskStatus.CREATED, null, null));
+        when(taskMapper.taskDtoToTask(taskDtos.get(0))).thenReturn(tasks.get(0));
+        when(taskMapper.taskDtoToTask(taskDtos.get(1))).thenReturn(tasks.get(1));
+        when(taskRepository.insertAll(List.of(tasks.get(0)), false)).thenReturn(Mono.just(Map.of()));
+        when(taskRepository.insertAll(List.of(tasks.get(1)), false)).thenReturn(Mono.just(Map.of()));
+
+        var result = taskService.createTasks(Flux.fromIterable(taskDtos));
+
+        StepVerifier.create(result)
+                .expectNext(TaskBulkResultDto.created(0, "1"))
+                .expectNext(TaskBulkResultDto.created(1, "2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void createTasksOrderedStopsOnFirstFailure() {
+        taskProperties.getBulk().setOrdered(true);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var invalidTaskDto = new TaskDto(null, "Test Task", "Description", null, TaskStatus.CREATED, null, null);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(task);
+        when(taskRepository.insertAll(List.of(task), true)).thenReturn(Mono.just(Map.of()));
+
+        var result = taskService.createTasks(Flux.just(taskDto, invalidTaskDto, taskDto));
+
+        StepVerifier.create(result)
+                .expectNext(TaskBulkResultDto.created(0, "1"))
+                .expectNext(TaskBulkResultDto.failed(1, "Creation date is required"))
+                .expectNext(TaskBulkResultDto.failed(2, "Task not inserted because a previous task failed"))
+                .verifyComplete();
+    }
+
     @Test
     void createTaskWithEmptyTitle() {
-        var taskDto = new TaskDto(null, null, "Description", dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, null, "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Title cannot be empty\"").verify();
     }
 
     @Test
     void createTaskWithTooLongTitle() {
-        var taskDto = new TaskDto(null, generateLongString(), "Description", dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, generateLongString(), "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Title cannot exceed 100 characters\"").verify();
     }
 
     @Test
     void createTaskWithTooLongDescription() {
-        var taskDto = new TaskDto(null, "Test Task", generateLongString(), dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", generateLongString(), dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Description cannot exceed 500 characters\"").verify();
     }
 
     @Test
     void createTaskWithWrongDate() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime.plusYears(5), TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime.plusYears(5), TaskStatus.CREATED, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Creation date cannot be in the future\"").verify();
     }
 
     @Test
     void createTaskWithNullDate() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", null, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", "Description", null, TaskStatus.CREATED, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Creation date is required\"").verify();
     }
 
+    @Test
+    void createTaskWithManyErrors() {
+        var taskDto = new TaskDto(null, "", generateLongString(), null, null, null, null);
+
+        var result = taskService.createTask(null, taskDto);
+
+        StepVerifier.create(result)
+                .expectErrorSatisfies(error -> {
+                    var exception = Assertions.assertInstanceOf(TaskValidationException.class, error);
+                    Assertions.assertEquals(List.of(
+                            new TaskFieldErrorDto("title", "Title cannot be empty"),
+                            new TaskFieldErrorDto("description", "Description cannot exceed 500 characters"),
+                            new TaskFieldErrorDto("creationDate", "Creation date is required"),
+                            new TaskFieldErrorDto("taskStatus", "Task status is required")), exception.getErrors());
+                    Assertions.assertEquals("Title cannot be empty; Description cannot exceed 500 characters; "
+                            + "Creation date is required; Task status is required", exception.getReason());
+                    Assertions.assertEquals(0, exception.getStackTrace().length);
+                })
+                .verify();
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void createTaskWithNullStatus() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null, null, null);
 
-        var result = taskService.createTask(taskDto);
+        var result = taskService.createTask(null, taskDto);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Task status is required\"").verify();
     }
@@ -126,151 +552,623 @@ class TaskServiceTest {
 
     @Test
     void getTaskById() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
 
         when(taskRepository.findById("1")).thenReturn(Mono.just(task));
         when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
 
-        var result = taskService.getTaskById("1");
+        var result = taskService.getTaskById(null, "1", null);
 
         StepVerifier.create(result)
                 .expectNext(dtoTask)
                 .verifyComplete();
     }
 
+    @Test
+    void getTaskByIdFromCache() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.findById("1")).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).expectNext(dtoTask).verifyComplete();
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).expectNext(dtoTask).verifyComplete();
+        verify(taskRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void getTaskByIdProjected() {
+        var task = new Task("1", null, null, null, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.findProjectedById("1", null, Set.of("taskStatus"))).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(new TaskDto("1", null, null, null, TaskStatus.CREATED, null, null));
+
+        StepVerifier.create(taskService.getTaskById(null, "1", "taskStatus"))
+                .expectNext(new TaskDto(null, null, null, null, TaskStatus.CREATED, null, null))
+                .verifyComplete();
+        verify(taskRepository, never()).findById("1");
+    }
+
+    @Test
+    void getTaskByIdProjectedFromCache() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 3L, null);
+
+        when(taskRepository.findById("1")).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 3L, null));
+
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(taskService.getTaskById(null, "1", "title,version"))
+                .expectNext(new TaskDto(null, "Test Task", null, null, null, 3L, null))
+                .verifyComplete();
+        verify(taskRepository, never()).findProjectedById(any(), any(), any());
+    }
+
+    @Test
+    void getTaskByIdAfterDelete() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.findById("1")).thenReturn(Mono.just(task), Mono.empty());
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.just(task));
+        when(taskRepository.findArchivedById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).expectNext(dtoTask).verifyComplete();
+        StepVerifier.create(taskService.deleteTaskById(null, "1", null)).verifyComplete();
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).verifyComplete();
+        verify(taskRepository, times(2)).findById("1");
+    }
+
     @Test
     void getTaskByIdNoResult() {
         when(taskRepository.findById("1")).thenReturn(Mono.empty());
+        when(taskRepository.findArchivedById("1")).thenReturn(Mono.empty());
 
-        var result = taskService.getTaskById("1");
+        var result = taskService.getTaskById(null, "1", null);
 
         StepVerifier.create(result).verifyComplete();
         verifyNoInteractions(taskMapper);
     }
 
+    @Test
+    void getTaskByIdFromArchive() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 2L, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 2L, null);
+
+        when(taskRepository.findById("1")).thenReturn(Mono.empty());
+        when(taskRepository.findArchivedById("1")).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        StepVerifier.create(taskService.getTaskById(null, "1", null)).expectNext(dtoTask).verifyComplete();
+    }
+
+    @Test
+    void getTaskByIdProjectedFromArchive() {
+        var task = new Task("1", "Test Task", null, null, null, null, null);
+
+        when(taskRepository.findProjectedById("1", null, Set.of("title"))).thenReturn(Mono.empty());
+        when(taskRepository.findArchivedById("1", null, Set.of("title"))).thenReturn(Mono.just(task));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(new TaskDto("1", "Test Task", null, null, null, null, null));
+
+        StepVerifier.create(taskService.getTaskById(null, "1", "title"))
+                .expectNext(new TaskDto(null, "Test Task", null, null, null, null, null))
+                .verifyComplete();
+    }
+
 
     @Test
     void updateTaskById() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        when(taskRepository.existsById("1")).thenReturn(Mono.just(true));
-        when(taskRepository.save(task)).thenReturn(Mono.just(task));
+        when(taskRepository.update(task, null)).thenReturn(Mono.just(new TaskChange(task, task)));
         when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
         when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
 
 
-        var result = taskService.updateTaskById("1", dtoTask);
+        var result = taskService.updateTaskById(null, "1", dtoTask, null);
 
         StepVerifier.create(result).expectNext(dtoTask).verifyComplete();
     }
 
     @Test
     void updateTaskByIdWithNullId() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null, null, null);
 
-        var result = taskService.updateTaskById(null, taskDto);
+        var result = taskService.updateTaskById(null, null, taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"ID cannot be empty\"").verify();
     }
 
     @Test
     void updateTaskByIdWhenDoesNotExist() {
-        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
-        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.update(task, null)).thenReturn(Mono.empty());
 
-        when(taskRepository.existsById("1")).thenReturn(Mono.just(false));
+        when(taskRepository.updateArchived(task, null)).thenReturn(Mono.empty());
         when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
 
 
-        var result = taskService.updateTaskById("1", dtoTask);
+        var result = taskService.updateTaskById(null, "1", dtoTask, null);
 
         StepVerifier.create(result).expectErrorMessage("404 NOT_FOUND \"Task do not exist\"").verify();
     }
 
 
+    @Test
+    void updateTaskByIdWithVersion() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var updatedTask = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 3L, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var updatedDtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 3L, null);
+
+        when(taskRepository.update(task, 2L)).thenReturn(Mono.just(new TaskChange(task, updatedTask)));
+        when(taskMapper.taskToTaskDto(updatedTask)).thenReturn(updatedDtoTask);
+        when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
+
+        var result = taskService.updateTaskById(null, "1", dtoTask, 2L);
+
+        StepVerifier.create(result).expectNext(updatedDtoTask).verifyComplete();
+    }
+
+    @Test
+    void updateTaskByIdWhenVersionDoesNotMatch() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.update(task, 2L)).thenReturn(Mono.empty());
+
+        when(taskRepository.updateArchived(task, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.existsByIdAndListId("1", null)).thenReturn(Mono.just(true));
+        when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
+
+        var result = taskService.updateTaskById(null, "1", dtoTask, 2L);
+
+        StepVerifier.create(result).expectErrorMessage("412 PRECONDITION_FAILED \"Task was modified\"").verify();
+    }
+
+    @Test
+    void updateTaskByIdInArchive() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+        var archivedTask = new Task("1", "Old Task", "Description", dateTime, TaskStatus.FINISHED, 2L, null);
+        var updatedTask = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 3L, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+        var updatedDtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 3L, null);
+
+        when(taskRepository.update(task, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.updateArchived(task, 2L)).thenReturn(Mono.just(new TaskChange(archivedTask, updatedTask)));
+        when(taskMapper.taskToTaskDto(updatedTask)).thenReturn(updatedDtoTask);
+        when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
+
+        var result = taskService.updateTaskById(null, "1", dtoTask, 2L);
+
+        StepVerifier.create(result).expectNext(updatedDtoTask).verifyComplete();
+        verify(taskCollectionVersion).changed(null);
+    }
+
+    @Test
+    void updateTaskByIdWithVersionWhenDoesNotExist() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+
+        when(taskRepository.update(task, 2L)).thenReturn(Mono.empty());
+
+        when(taskRepository.updateArchived(task, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.existsByIdAndListId("1", null)).thenReturn(Mono.just(false));
+        when(taskRepository.findArchivedById("1", null, Set.of("id"))).thenReturn(Mono.empty());
+        when(taskMapper.taskDtoToTask(dtoTask)).thenReturn(task);
+
+        var result = taskService.updateTaskById(null, "1", dtoTask, 2L);
+
+        StepVerifier.create(result).expectErrorMessage("404 NOT_FOUND \"Task do not exist\"").verify();
+    }
+
     @Test
     void updateTaskByIdWithNoTitle() {
-        var taskDto = new TaskDto(null, null, "Description", dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, null, "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Title cannot be empty\"").verify();
     }
 
     @Test
     void updateTaskByIdWithTooLongTitle() {
-        var taskDto = new TaskDto(null, generateLongString(), "Description", dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, generateLongString(), "Description", dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Title cannot exceed 100 characters\"").verify();
     }
 
     @Test
     void updateTaskByIdWithTooLongDescription() {
-        var taskDto = new TaskDto(null, "Test Task", generateLongString(), dateTime, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", generateLongString(), dateTime, TaskStatus.CREATED, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Description cannot exceed 500 characters\"").verify();
     }
 
     @Test
     void updateTaskByIdWithNoCreationDate() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", null, TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", "Description", null, TaskStatus.CREATED, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Creation date is required\"").verify();
     }
 
     @Test
     void updateTaskByIdWithWrongCreationDate() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime.plusYears(5), TaskStatus.CREATED);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime.plusYears(5), TaskStatus.CREATED, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Creation date cannot be in the future\"").verify();
     }
 
     @Test
     void updateTaskByIdWithNoStatus() {
-        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null);
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, null, null, null);
 
-        var result = taskService.updateTaskById("1", taskDto);
+        var result = taskService.updateTaskById(null, "1", taskDto, null);
 
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Task status is required\"").verify();
     }
 
+    @Test
+    void patchTaskById() {
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var changes = new Task("1", null, null, null, TaskStatus.FINISHED, null, null);
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null);
+
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.just(new TaskChange(task, task)));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+
+        var result = taskService.patchTaskById(null, "1", taskPatchDto, null);
+
+        StepVerifier.create(result).expectNext(dtoTask).verifyComplete();
+    }
+
+    @Test
+    void patchTaskByIdWhenDoesNotExist() {
+        var taskPatchDto = new TaskPatchDto("Test Task", null, null, null);
+        var changes = new Task("1", "Test Task", null, null, null, null, null);
+
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.empty());
+        when(taskRepository.patchArchived(changes, null)).thenReturn(Mono.empty());
+
+        var result = taskService.patchTaskById(null, "1", taskPatchDto, null);
+
+        StepVerifier.create(result).expectErrorMessage("404 NOT_FOUND \"Task do not exist\"").verify();
+    }
+
+    @Test
+    void patchTaskByIdWhenVersionDoesNotMatch() {
+        var taskPatchDto = new TaskPatchDto("Test Task", null, null, null);
+        var changes = new Task("1", "Test Task", null, null, null, null, null);
+
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.patchArchived(changes, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.existsByIdAndListId("1", null)).thenReturn(Mono.just(true));
+
+        var result = taskService.patchTaskById(null, "1", taskPatchDto, 2L);
+
+        StepVerifier.create(result).expectErrorMessage("412 PRECONDITION_FAILED \"Task was modified\"").verify();
+    }
+
+    @Test
+    void patchTaskByIdInArchive() {
+        var taskPatchDto = new TaskPatchDto("Test Task", null, null, null);
+        var changes = new Task("1", "Test Task", null, null, null, null, null);
+        var archivedTask = new Task("1", "Old Task", "Description", dateTime, TaskStatus.FINISHED, 2L, null);
+        var patchedTask = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 3L, null);
+        var patchedDtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 3L, null);
+
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.empty());
+        when(taskRepository.patchArchived(changes, null)).thenReturn(Mono.just(new TaskChange(archivedTask, patchedTask)));
+        when(taskMapper.taskToTaskDto(patchedTask)).thenReturn(patchedDtoTask);
+
+        var result = taskService.patchTaskById(null, "1", taskPatchDto, null);
+
+        StepVerifier.create(result).expectNext(patchedDtoTask).verifyComplete();
+    }
+
+    @Test
+    void patchTaskByIdWithNothingToUpdate() {
+        var result = taskService.patchTaskById(null, "1", new TaskPatchDto(null, null, null, null), null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Nothing to update\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTaskByIdWithEmptyTitle() {
+        var result = taskService.patchTaskById(null, "1", new TaskPatchDto("", null, null, null), null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Title cannot be empty\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTaskByIdWithTooLongDescription() {
+        var result = taskService.patchTaskById(null, "1", new TaskPatchDto(null, generateLongString(), null, null), null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Description cannot exceed 500 characters\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTaskByIdWithWrongCreationDate() {
+        var result = taskService.patchTaskById(null, "1", new TaskPatchDto(null, null, dateTime.plusYears(5), null), null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"Creation date cannot be in the future\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTaskByIdWithNullId() {
+        var result = taskService.patchTaskById(null, null, new TaskPatchDto("Test Task", null, null, null), null);
+
+        StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"ID cannot be empty\"").verify();
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void deleteTaskById() {
-        when(taskRepository.existsById("1")).thenReturn(Mono.just(true));
-        when(taskRepository.deleteById("1")).thenReturn(Mono.empty());
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.just(task));
 
-        var result = taskService.deleteTaskById("1");
+        var result = taskService.deleteTaskById(null, "1", null);
         StepVerifier.create(result).verifyComplete();
     }
 
+    @Test
+    void deleteTaskInListReleasesQuota() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, "list-1");
+        when(taskRepository.removeByIdAndListId("1", "list-1")).thenReturn(Mono.just(task));
+
+        var result = taskService.deleteTaskById("list-1", "1", null);
+
+        StepVerifier.create(result).verifyComplete();
+        verify(taskListQuota).release("list-1");
+    }
+
     @Test
     void deleteTaskByIdWhenDoesNotExists() {
-        when(taskRepository.existsById("1")).thenReturn(Mono.just(false));
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.empty());
+        when(taskRepository.removeArchivedById("1", null, null)).thenReturn(Mono.empty());
 
-        var result = taskService.deleteTaskById("1");
+        var result = taskService.deleteTaskById(null, "1", null);
         StepVerifier.create(result).expectErrorMessage("404 NOT_FOUND \"Task do not exist\"").verify();
-        verify(taskRepository, never()).deleteById("1");
+    }
+
+    @Test
+    void deleteArchivedTaskById() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 2L, null);
+        when(taskRepository.removeByIdAndListIdAndVersion("1", null, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.removeArchivedById("1", null, 2L)).thenReturn(Mono.just(task));
+
+        var result = taskService.deleteTaskById(null, "1", 2L);
+        StepVerifier.create(result).verifyComplete();
+        verify(taskStatistics).deleted(task);
+    }
+
+    @Test
+    void deleteTaskByIdWithVersion() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+        when(taskRepository.removeByIdAndListIdAndVersion("1", null, 2L)).thenReturn(Mono.just(task));
+
+        var result = taskService.deleteTaskById(null, "1", 2L);
+        StepVerifier.create(result).verifyComplete();
+        verify(taskRepository, never()).removeByIdAndListId("1", null);
+    }
+
+    @Test
+    void deleteTaskByIdWhenVersionDoesNotMatch() {
+        when(taskRepository.removeByIdAndListIdAndVersion("1", null, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.removeArchivedById("1", null, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.existsByIdAndListId("1", null)).thenReturn(Mono.just(true));
+
+        var result = taskService.deleteTaskById(null, "1", 2L);
+        StepVerifier.create(result).expectErrorMessage("412 PRECONDITION_FAILED \"Task was modified\"").verify();
+    }
+
+    @Test
+    void deleteArchivedTaskByIdWhenVersionDoesNotMatch() {
+        when(taskRepository.removeByIdAndListIdAndVersion("1", null, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.removeArchivedById("1", null, 2L)).thenReturn(Mono.empty());
+        when(taskRepository.existsByIdAndListId("1", null)).thenReturn(Mono.just(false));
+        when(taskRepository.findArchivedById("1", null, Set.of("id"))).thenReturn(Mono.just(new Task("1", null, null, null, null, null, null)));
+
+        var result = taskService.deleteTaskById(null, "1", 2L);
+        StepVerifier.create(result).expectErrorMessage("412 PRECONDITION_FAILED \"Task was modified\"").verify();
     }
 
     @Test
     void deleteTaskByIdWithNoId() {
 
-        var result = taskService.deleteTaskById(null);
+        var result = taskService.deleteTaskById(null, null, null);
         StepVerifier.create(result).expectErrorMessage("400 BAD_REQUEST \"ID cannot be empty\"").verify();
         verifyNoInteractions(taskRepository);
     }
 
+    @Test
+    void createTaskRecordsStageTimers() {
+        var taskDto = new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var task = new Task(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null);
+        var savedTask = new Task("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null);
+        when(taskMapper.taskDtoToTask(taskDto)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(Mono.just(savedTask));
+        when(taskMapper.taskToTaskDto(savedTask)).thenReturn(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null));
+
+        StepVerifier.create(taskService.createTask(null, taskDto)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(taskService.createTask(null, new TaskDto(null, "", "Description", dateTime, TaskStatus.CREATED, null, null)))
+                .expectError()
+                .verify();
+
+        Assertions.assertEquals(2, meterRegistry.get(TaskMetrics.STAGE_TIMER).tag("stage", "validation").timer().count());
+        Assertions.assertEquals(2, meterRegistry.get(TaskMetrics.STAGE_TIMER).tag("stage", "mapping").timer().count());
+    }
+
+    @Test
+    void suggestTasks() {
+        when(taskRepository.findAll()).thenReturn(Flux.just(
+                new Task("1", "Buy milk", "Description", dateTime, TaskStatus.CREATED, 0L, null),
+                new Task("2", "Call mom", "Description", dateTime, TaskStatus.CREATED, 0L, null)));
+
+        StepVerifier.create(taskService.buildTitleIndex()).verifyComplete();
+
+        StepVerifier.create(taskService.suggestTasks(null, "bu", 10))
+                .expectNext(new TaskSuggestionDto("1", "Buy milk"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suggestTasksFollowsWrites() {
+        var task = new Task("1", "Buy milk", "Description", dateTime, TaskStatus.CREATED, 1L, null);
+        var renamedTask = new Task("1", "Call mom", "Description", dateTime, TaskStatus.CREATED, 2L, null);
+        var taskPatchDto = new TaskPatchDto("Call mom", null, null, null);
+        var changes = new Task("1", "Call mom", null, null, null, null, null);
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.just(new TaskChange(task, renamedTask)));
+        when(taskMapper.taskToTaskDto(renamedTask)).thenReturn(new TaskDto("1", "Call mom", "Description", dateTime, TaskStatus.CREATED, 2L, null));
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.just(renamedTask));
+        taskTitleIndex.put(task);
+
+        StepVerifier.create(taskService.patchTaskById(null, "1", taskPatchDto, null)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(taskService.suggestTasks(null, "buy", 10)).verifyComplete();
+        StepVerifier.create(taskService.suggestTasks(null, "call", 10)).expectNext(new TaskSuggestionDto("1", "Call mom")).verifyComplete();
+
+        StepVerifier.create(taskService.deleteTaskById(null, "1", null)).verifyComplete();
+        StepVerifier.create(taskService.suggestTasks(null, "call", 10)).verifyComplete();
+    }
+
+    @Test
+    void suggestTasksWithEmptyPrefix() {
+        StepVerifier.create(taskService.suggestTasks(null, " ", 10))
+                .expectErrorMessage("400 BAD_REQUEST \"Prefix cannot be empty\"")
+                .verify();
+    }
+
+    @Test
+    void suggestTasksWithWrongLimit() {
+        StepVerifier.create(taskService.suggestTasks(null, "buy", 101))
+                .expectErrorMessage("400 BAD_REQUEST \"Limit must be between 1 and 100\"")
+                .verify();
+    }
+
+    @Test
+    void writesUpdateTaskStatistics() {
+        var today = LocalDateTime.now().minusMinutes(1);
+        var task = new Task("1", "Test Task", "Description", today, TaskStatus.CREATED, 1L, null);
+        var finishedTask = new Task("1", "Test Task", "Description", today, TaskStatus.FINISHED, 2L, null);
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var changes = new Task("1", null, null, null, TaskStatus.FINISHED, null, null);
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.just(new TaskChange(task, finishedTask)));
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.just(finishedTask));
+        when(taskMapper.taskToTaskDto(finishedTask)).thenReturn(new TaskDto("1", "Test Task", "Description", today, TaskStatus.FINISHED, 2L, null));
+        taskStatistics.created(task);
+
+        StepVerifier.create(taskService.patchTaskById(null, "1", taskPatchDto, null)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(taskService.getTaskStats())
+                .assertNext(stats -> {
+                    Assertions.assertEquals(0L, stats.getByStatus().get(TaskStatus.CREATED));
+                    Assertions.assertEquals(1L, stats.getByStatus().get(TaskStatus.FINISHED));
+                    Assertions.assertEquals(Map.of(today.toLocalDate(), 1L), stats.getCreatedPerDay());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(taskService.deleteTaskById(null, "1", null)).verifyComplete();
+        StepVerifier.create(taskService.getTaskStats())
+                .assertNext(stats -> {
+                    Assertions.assertEquals(0L, stats.getByStatus().get(TaskStatus.FINISHED));
+                    Assertions.assertEquals(Map.of(), stats.getCreatedPerDay());
+                })
+                .verifyComplete();
+        verify(taskRepository, never()).countByStatus();
+    }
+
+    @Test
+    void reconcileStatistics() {
+        var today = LocalDate.now();
+        when(taskRepository.countByStatus()).thenReturn(Mono.just(Map.of(TaskStatus.CREATED, 5L)));
+        when(taskRepository.countCreatedPerDay(today.minusDays(29).atStartOfDay())).thenReturn(Mono.just(Map.of(today, 5L)));
+        taskStatistics.created(new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, null, null));
+
+        StepVerifier.create(taskService.reconcileStatistics()).verifyComplete();
+
+        StepVerifier.create(taskService.getTaskStats())
+                .assertNext(stats -> {
+                    Assertions.assertEquals(5L, stats.getByStatus().get(TaskStatus.CREATED));
+                    Assertions.assertEquals(0L, stats.getByStatus().get(TaskStatus.FINISHED));
+                    Assertions.assertEquals(Map.of(today, 5L), stats.getCreatedPerDay());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void writesPublishTaskEvents() {
+        var task = new Task("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 1L, null);
+        var dtoTask = new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 1L, null);
+        var taskPatchDto = new TaskPatchDto(null, null, null, TaskStatus.FINISHED);
+        var changes = new Task("1", null, null, null, TaskStatus.FINISHED, null, null);
+        when(taskMapper.taskPatchDtoToTask("1", taskPatchDto)).thenReturn(changes);
+        when(taskRepository.patch(changes, null)).thenReturn(Mono.just(new TaskChange(task, task)));
+        when(taskMapper.taskToTaskDto(task)).thenReturn(dtoTask);
+        when(taskRepository.removeByIdAndListId("1", null)).thenReturn(Mono.just(task));
+
+        var events = taskService.getTaskEvents(null, TaskStatus.FINISHED).take(2);
+
+        StepVerifier.create(events)
+                .then(() -> taskService.patchTaskById(null, "1", taskPatchDto, null).block())
+                .expectNext(TaskEventDto.updated(dtoTask))
+                .then(() -> taskService.deleteTaskById(null, "1", null).block())
+                .expectNext(TaskEventDto.deleted("1", null))
+                .verifyComplete();
+    }
+
+    @Test
+    void taskEventsFilteredByStatus() {
+        var events = taskService.getTaskEvents(null, TaskStatus.CREATED).take(1);
+
+        StepVerifier.create(events)
+                .then(() -> taskEventPublisher.publish(TaskEventDto.updated(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.FINISHED, 1L, null))))
+                .then(() -> taskEventPublisher.publish(TaskEventDto.created(new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null))))
+                .assertNext(event -> Assertions.assertEquals("2", event.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void taskEventsScopedByList() {
+        var events = taskService.getTaskEvents("list-1", null).take(2);
+
+        StepVerifier.create(events)
+                .then(() -> taskEventPublisher.publish(TaskEventDto.created(new TaskDto("1", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, null))))
+                .then(() -> taskEventPublisher.publish(TaskEventDto.created(new TaskDto("2", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, "list-2"))))
+                .then(() -> taskEventPublisher.publish(TaskEventDto.created(new TaskDto("3", "Test Task", "Description", dateTime, TaskStatus.CREATED, 0L, "list-1"))))
+                .then(() -> taskEventPublisher.publish(TaskEventDto.deleted("4", "list-2")))
+                .then(() -> taskEventPublisher.publish(TaskEventDto.deleted("5", "list-1")))
+                .assertNext(event -> Assertions.assertEquals("3", event.getId()))
+                .assertNext(event -> Assertions.assertEquals("5", event.getId()))
+                .verifyComplete();
+        StepVerifier.create(taskService.suggestTasks("list 1", "buy", 10))
+                .expectErrorMessage("400 BAD_REQUEST \"List ID must be 1 to 64 letters, digits, - or _\"")
+                .verify();
+    }
+
     String generateLongString() {
         int leftLimit = 97;
         int rightLimit = 122;
@@ -0,0 +1,68 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+class TaskStatisticsTest {
+    LocalDateTime today = LocalDate.now().atTime(0, 1);
+
+    @Test
+    void snapshotContainsEveryStatus() {
+        var statistics = new TaskStatistics(new TaskProperties());
+
+        var stats = statistics.snapshot();
+
+        Assertions.assertEquals(Map.of(TaskStatus.CREATED, 0L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.FINISHED, 0L), stats.getByStatus());
+        Assertions.assertEquals(Map.of(), stats.getCreatedPerDay());
+    }
+
+    @Test
+    void updateMovesTaskBetweenCounters() {
+        var statistics = new TaskStatistics(new TaskProperties());
+        var task = new Task("1", "Test Task", "Description", today.minusDays(1), TaskStatus.CREATED, 0L, null);
+        var updatedTask = new Task("1", "Test Task", "Description", today, TaskStatus.IN_PROGRESS, 1L, null);
+
+        statistics.created(task);
+        statistics.updated(task, updatedTask);
+
+        var stats = statistics.snapshot();
+        Assertions.assertEquals(0L, stats.getByStatus().get(TaskStatus.CREATED));
+        Assertions.assertEquals(1L, stats.getByStatus().get(TaskStatus.IN_PROGRESS));
+        Assertions.assertEquals(Map.of(today.toLocalDate(), 1L), stats.getCreatedPerDay());
+    }
+
+    @Test
+    void daysOutsideOfWindowAreSkipped() {
+        var properties = new TaskProperties();
+        properties.getStats().setDays(7);
+        var statistics = new TaskStatistics(properties);
+
+        statistics.created(new Task("1", "Test Task", "Description", today.minusDays(7), TaskStatus.CREATED, 0L, null));
+        statistics.created(new Task("2", "Test Task", "Description", today.minusDays(6), TaskStatus.CREATED, 0L, null));
+
+        var stats = statistics.snapshot();
+        Assertions.assertEquals(2L, stats.getByStatus().get(TaskStatus.CREATED));
+        Assertions.assertEquals(Map.of(today.minusDays(6).toLocalDate(), 1L), stats.getCreatedPerDay());
+        Assertions.assertEquals(today.minusDays(6).toLocalDate().atStartOfDay(), statistics.windowStart());
+    }
+
+    @Test
+    void resetReplacesCounters() {
+        var statistics = new TaskStatistics(new TaskProperties());
+        statistics.created(new Task("1", "Test Task", "Description", today, TaskStatus.CREATED, 0L, null));
+
+        statistics.reset(Map.of(TaskStatus.FINISHED, 3L), Map.of(today.toLocalDate().minusDays(1), 3L));
+
+        var stats = statistics.snapshot();
+        Assertions.assertEquals(0L, stats.getByStatus().get(TaskStatus.CREATED));
+        Assertions.assertEquals(3L, stats.getByStatus().get(TaskStatus.FINISHED));
+        Assertions.assertEquals(Map.of(today.toLocalDate().minusDays(1), 3L), stats.getCreatedPerDay());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskSuggestionDto;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TaskTitleIndexTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+
+    @Test
+    void suggestIsCaseInsensitiveAndOrderedByTitle() {
+        var taskTitleIndex = new TaskTitleIndex(new SimpleMeterRegistry());
+        taskTitleIndex.put(task("1", "Buy milk"));
+        taskTitleIndex.put(task("2", "buy bread"));
+        taskTitleIndex.put(task("3", "Call mom"));
+        taskTitleIndex.put(task("4", "Buyer meeting"));
+
+        Assertions.assertEquals(List.of(new TaskSuggestionDto("2", "buy bread"), new TaskSuggestionDto("1", "Buy milk"),
+                new TaskSuggestionDto("4", "Buyer meeting")), taskTitleIndex.suggest(null, "BUY", 10));
+        Assertions.assertEquals(List.of(new TaskSuggestionDto("2", "buy bread")), taskTitleIndex.suggest(null, "buy", 1));
+        Assertions.assertEquals(List.of(), taskTitleIndex.suggest(null, "x", 10));
+    }
+
+    @Test
+    void putReplacesPreviousTitle() {
+        var taskTitleIndex = new TaskTitleIndex(new SimpleMeterRegistry());
+        taskTitleIndex.put(task("1", "Buy milk"));
+
+        taskTitleIndex.put(task("1", "Call mom"));
+
+        Assertions.assertEquals(1, taskTitleIndex.size());
+        Assertions.assertEquals(List.of(), taskTitleIndex.suggest(null, "buy", 10));
+        Assertions.assertEquals(List.of(new TaskSuggestionDto("1", "Call mom")), taskTitleIndex.suggest(null, "call", 10));
+    }
+
+    @Test
+    void removeDropsTaskAndReportsMemory() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var taskTitleIndex = new TaskTitleIndex(meterRegistry);
+        taskTitleIndex.put(task("1", "Buy milk"));
+        taskTitleIndex.put(task("2", "Buy bread"));
+
+        Assertions.assertEquals(2.0, meterRegistry.get("tasks.suggest.index.entries").gauge().value());
+        Assertions.assertTrue(meterRegistry.get("tasks.suggest.index.memory").gauge().value() > 0);
+
+        taskTitleIndex.remove("1");
+        taskTitleIndex.remove("2");
+
+        Assertions.assertEquals(List.of(), taskTitleIndex.suggest(null, "buy", 10));
+        Assertions.assertEquals(0, taskTitleIndex.estimatedMemory());
+        Assertions.assertEquals(0.0, meterRegistry.get("tasks.suggest.index.entries").gauge().value());
+    }
+
+    @Test
+    void suggestIsScopedByList() {
+        var taskTitleIndex = new TaskTitleIndex(new SimpleMeterRegistry());
+        taskTitleIndex.put(task("1", "Buy milk"));
+        taskTitleIndex.put(new Task("2", "Buy bread", "Description", dateTime, TaskStatus.CREATED, 0L, "list-1"));
+        taskTitleIndex.put(new Task("3", "Buy eggs", "Description", dateTime, TaskStatus.CREATED, 0L, "list-2"));
+
+        Assertions.assertEquals(List.of(new TaskSuggestionDto("1", "Buy milk")), taskTitleIndex.suggest(null, "buy", 10));
+        Assertions.assertEquals(List.of(new TaskSuggestionDto("2", "Buy bread")), taskTitleIndex.suggest("list-1", "buy", 10));
+        Assertions.assertEquals(List.of(), taskTitleIndex.suggest("list-3", "buy", 10));
+    }
+
+    private Task task(String id, String title) {
+        return new Task(id, title, "Description", dateTime, TaskStatus.CREATED, 0L, null);
+    }
+}
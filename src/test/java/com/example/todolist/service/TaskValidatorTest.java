@@ -0,0 +1,99 @@
+package com.example.todolist.service;
+
+import com.example.todolist.dto.TaskDto;
+import com.example.todolist.dto.TaskFieldErrorDto;
+import com.example.todolist.dto.TaskPatchDto;
+import com.example.todolist.entity.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+class TaskValidatorTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    MutableClock clock = new MutableClock(dateTime.toInstant(ZoneOffset.UTC));
+    TaskValidator taskValidator = new TaskValidator(clock);
+
+    @Test
+    void validTaskHasNoErrors() {
+        var errors = taskValidator.validate(new TaskDto(null, "Test Task", "Description", dateTime, TaskStatus.CREATED, null, null));
+
+        Assertions.assertEquals(List.of(), errors);
+    }
+
+    @Test
+    void allFieldErrorsAreCollected() {
+        var errors = taskValidator.validate(new TaskDto(null, "x".repeat(101), "x".repeat(501), dateTime.plusDays(1), null, null, null));
+
+        Assertions.assertEquals(List.of(
+                new TaskFieldErrorDto("title", "Title cannot exceed 100 characters"),
+                new TaskFieldErrorDto("description", "Description cannot exceed 500 characters"),
+                new TaskFieldErrorDto("creationDate", "Creation date cannot be in the future"),
+                new TaskFieldErrorDto("taskStatus", "Task status is required")), errors);
+    }
+
+    @Test
+    void pastDatesDoNotReadTheClock() {
+        var reads = clock.reads;
+
+        taskValidator.validate(new TaskDto(null, "Test Task", null, dateTime.minusDays(1), TaskStatus.CREATED, null, null));
+
+        Assertions.assertEquals(reads, clock.reads);
+    }
+
+    @Test
+    void cachedTimeIsRefreshedBeforeRejectingDate() {
+        clock.instant = clock.instant.plus(Duration.ofMinutes(5));
+
+        var errors = taskValidator.validate(new TaskDto(null, "Test Task", null, dateTime.plusMinutes(1), TaskStatus.CREATED, null, null));
+
+        Assertions.assertEquals(List.of(), errors);
+    }
+
+    @Test
+    void patchWithoutFieldsIsRejected() {
+        var errors = taskValidator.validatePatch(new TaskPatchDto(null, null, null, null));
+
+        Assertions.assertEquals(List.of(new TaskFieldErrorDto(null, "Nothing to update")), errors);
+    }
+
+    @Test
+    void patchValidatesOnlyPresentFields() {
+        var errors = taskValidator.validatePatch(new TaskPatchDto("", null, dateTime.plusDays(1), null));
+
+        Assertions.assertEquals(List.of(
+                new TaskFieldErrorDto("title", "Title cannot be empty"),
+                new TaskFieldErrorDto("creationDate", "Creation date cannot be in the future")), errors);
+    }
+
+    static class MutableClock extends Clock {
+        Instant instant;
+        int reads;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            reads++;
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskStatus;
+import com.example.todolist.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskWriteCoalescerTest {
+    LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 2, 2);
+    TaskRepository taskRepository = mock(TaskRepository.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    TaskWriteCoalescer coalescer;
+
+    @AfterEach
+    void close() {
+        coalescer.close();
+    }
+
+    @Test
+    void concurrentInsertsAreWrittenTogether() {
+        coalescer = coalescer(10, Duration.ofMillis(200));
+        stubInsert(Map.of());
+
+        var results = Flux.range(0, 25)
+                .flatMap(i -> coalescer.insert(task(null, "Task " + i)).subscribeOn(Schedulers.parallel()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertEquals(25, results.size());
+        results.forEach(task -> Assertions.assertNotNull(task.getId()));
+        Assertions.assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        Assertions.assertTrue(batchSizes.size() < 25);
+        var summary = meterRegistry.get("tasks.create.batch.size").summary();
+        Assertions.assertEquals(batchSizes.size(), summary.count());
+        Assertions.assertEquals(25, summary.totalAmount());
+    }
+
+    @Test
+    void batchIsWrittenAfterMaxDelay() {
+        coalescer = coalescer(100, Duration.ofMillis(20));
+        stubInsert(Map.of());
+
+        StepVerifier.create(coalescer.insert(task(null, "Task")))
+                .assertNext(task -> Assertions.assertEquals("Task", task.getTitle()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    void insertAfterCloseFails() {
+        coalescer = coalescer(10, Duration.ofMillis(20));
+        coalescer.close();
+
+        StepVerifier.create(coalescer.insert(task(null, "Task")))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void writeErrorFailsOnlyItsTask() {
+        coalescer = coalescer(2, Duration.ofSeconds(5));
+        stubInsert(Map.of(1, "Duplicate key"));
+
+        var first = coalescer.insert(task("1", "First")).toFuture();
+        var second = coalescer.insert(task("2", "Second")).toFuture();
+
+        StepVerifier.create(Mono.fromFuture(first)).expectNext(task("1", "First")).verifyComplete();
+        StepVerifier.create(Mono.fromFuture(second))
+                .expectErrorSatisfies(error -> {
+                    Assertions.assertInstanceOf(DataIntegrityViolationException.class, error);
+                    Assertions.assertEquals("Duplicate key", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void failedBatchFailsAllTasksAndNextBatchesStillRun() {
+        coalescer = coalescer(2, Duration.ofSeconds(5));
+        when(taskRepository.insertAll(anyList(), eq(false)))
+                .thenReturn(Mono.error(new IllegalStateException("Connection lost")))
+                .thenReturn(Mono.just(Map.of()));
+
+        var first = coalescer.insert(task("1", "First")).toFuture();
+        var second = coalescer.insert(task("2", "Second")).toFuture();
+        StepVerifier.create(Mono.fromFuture(first)).expectErrorMessage("Connection lost").verify();
+        StepVerifier.create(Mono.fromFuture(second)).expectErrorMessage("Connection lost").verify();
+
+        var third = coalescer.insert(task("3", "Third")).toFuture();
+        var fourth = coalescer.insert(task("4", "Fourth")).toFuture();
+        StepVerifier.create(Mono.fromFuture(third)).expectNext(task("3", "Third")).verifyComplete();
+        StepVerifier.create(Mono.fromFuture(fourth)).expectNext(task("4", "Fourth")).verifyComplete();
+    }
+
+    private TaskWriteCoalescer coalescer(int maxSize, Duration maxDelay) {
+        var properties = new TaskProperties();
+        properties.getCreateBatch().setMaxSize(maxSize);
+        properties.getCreateBatch().setMaxDelay(maxDelay);
+        return new TaskWriteCoalescer(taskRepository, properties, meterRegistry);
+    }
+
+    private void stubInsert(Map<Integer, String> writeErrors) {
+        when(taskRepository.insertAll(anyList(), eq(false))).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            batchSizes.add(tasks.size());
+            tasks.forEach(task -> {
+                if (task.getId() == null) {
+                    task.setId(String.valueOf(task.hashCode()));
+                }
+            });
+            return Mono.just(new HashMap<>(writeErrors));
+        });
+    }
+
+    private Task task(String id, String title) {
+        return new Task(id, title, "Description", dateTime, TaskStatus.CREATED, null, null);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.todolist.startup;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StartupProbe {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    StartupTestSettings settings;
+
+    public StartupProbe(StartupTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public StartupTestReport run(String label, List<String> command) throws IOException, InterruptedException {
+        var samples = new ArrayList<StartupTestReport.StartupSample>();
+        for (int run = 0; run < settings.getRuns(); run++) {
+            samples.add(measure(command, Path.of(settings.getOutput()).resolveSibling(label + "-" + run + ".log")));
+        }
+        return StartupTestReport.of(label, command, samples);
+    }
+
+    private StartupTestReport.StartupSample measure(List<String> command, Path log) throws IOException, InterruptedException {
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        var port = freePort();
+        var directory = Files.createTempDirectory("todolist-startup");
+        var arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--spring.profiles.active=" + settings.getProfiles());
+        arguments.add("--tasks.embedded.directory=" + directory);
+        var uri = URI.create("http://localhost:" + port + "/tasks");
+
+        var startedAt = System.nanoTime();
+        var process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            var deadline = startedAt + settings.getTimeout().toNanos();
+            while (!respondsOk(uri)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log.toAbsolutePath());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not respond within " + settings.getTimeout() + ", see " + log.toAbsolutePath());
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            var startupMillis = (System.nanoTime() - startedAt) / 1_000_000.0;
+            return new StartupTestReport.StartupSample(startupMillis, residentSetKilobytes(process.pid()) / 1024.0);
+        } finally {
+            process.descendants().forEach(ProcessHandle::destroy);
+            process.destroy();
+            if (!process.waitFor(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private boolean respondsOk(URI uri) throws InterruptedException {
+        var request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long residentSetKilobytes(long pid) throws IOException, InterruptedException {
+        var status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (var line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        var ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        var output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        ps.waitFor();
+        return Long.parseLong(output);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todolist.startup;
+
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+@Value
+public class StartupTestReport {
+    String label;
+    List<String> command;
+    List<StartupSample> samples;
+    double medianStartupMillis;
+    double maxStartupMillis;
+    double medianRssMegabytes;
+
+    public static StartupTestReport of(String label, List<String> command, List<StartupSample> samples) {
+        return new StartupTestReport(label, command, samples,
+                median(samples, StartupSample::getStartupMillis),
+                samples.stream().mapToDouble(StartupSample::getStartupMillis).max().orElse(0),
+                median(samples, StartupSample::getRssMegabytes));
+    }
+
+    private static double median(List<StartupSample> samples, ToDoubleFunction<StartupSample> value) {
+        var sorted = samples.stream().sorted(Comparator.comparingDouble(value)).toList();
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        var middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1
+                ? value.applyAsDouble(sorted.get(middle))
+                : (value.applyAsDouble(sorted.get(middle - 1)) + value.applyAsDouble(sorted.get(middle))) / 2;
+    }
+
+    @Value
+    public static class StartupSample {
+        double startupMillis;
+        double rssMegabytes;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todolist.startup;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class StartupTestSettings {
+    int runs;
+    Duration timeout;
+    String profiles;
+    Map<String, List<String>> commands;
+    String output;
+
+    public static StartupTestSettings fromSystemProperties() {
+        var commands = new LinkedHashMap<String, List<String>>();
+        commands.put("jvm", parseCommand(System.getProperty("startuptest.jvm-command",
+                System.getProperty("java.home") + "/bin/java -Dspring.aot.enabled=true -jar target/ToDoList-0.0.1-SNAPSHOT.jar")));
+        commands.put("native", parseCommand(System.getProperty("startuptest.native-command", "target/ToDoList")));
+        return new StartupTestSettings(
+                Integer.getInteger("startuptest.runs", 5),
+                Duration.parse(System.getProperty("startuptest.timeout", "PT60S")),
+                System.getProperty("startuptest.profiles", "embedded"),
+                commands,
+                System.getProperty("startuptest.output", "target/startup-test/report.json"));
+    }
+
+    static List<String> parseCommand(String command) {
+        var parts = command.trim().split("\\s+");
+        if (parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Startup command cannot be empty");
+        }
+        return List.of(parts);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todolist.startup;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfSystemProperty(named = "startuptest", matches = "true")
+class TaskStartupTest {
+
+    @Test
+    void measureStartup() throws IOException, InterruptedException {
+        var settings = StartupTestSettings.fromSystemProperties();
+        var probe = new StartupProbe(settings);
+
+        var reports = new ArrayList<StartupTestReport>();
+        for (var entry : settings.getCommands().entrySet()) {
+            var executable = entry.getValue().get(0);
+            if (!Files.isExecutable(Path.of(executable))) {
+                System.out.printf("%s: skipped, %s is not built%n", entry.getKey(), executable);
+                continue;
+            }
+            var report = probe.run(entry.getKey(), entry.getValue());
+            System.out.printf("%s: %d runs, first /tasks response median %.0f ms, max %.0f ms, RSS median %.1f MB%n",
+                    report.getLabel(), report.getSamples().size(), report.getMedianStartupMillis(), report.getMaxStartupMillis(),
+                    report.getMedianRssMegabytes());
+            reports.add(report);
+        }
+
+        var output = Path.of(settings.getOutput());
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .indentOutput(true)
+                .build()
+                .writeValue(output.toFile(), reports);
+
+        assertThat(reports).isNotEmpty();
+    }
+}